@@ -0,0 +1,143 @@
+/*
+ * Copyright 2000-2022 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable map with string keys that are compared ignoring the case of
+ * ASCII letters.
+ * <p>
+ * Lookups do not allocate: the hash code and the comparison fold the case of
+ * each character on the fly, instead of creating a lower case copy of the key.
+ * If several keys of the source map only differ in case, the last one wins.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @param <V>
+ *            the type of the values
+ */
+final class AsciiCaseInsensitiveMap<V> extends AbstractMap<String, V> {
+    private final String[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final Set<Entry<String, V>> entrySet;
+
+    private AsciiCaseInsensitiveMap(Map<String, ? extends V> source) {
+        // Keep the load factor at or below 0.5 for short probe sequences
+        int capacity = Integer.highestOneBit(Math.max(1, source.size()) * 2)
+                * 2;
+        keys = new String[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+
+        var entries = new LinkedHashMap<String, Entry<String, V>>();
+        source.forEach((key, value) -> {
+            int index = findIndex(key);
+            keys[index] = key;
+            values[index] = value;
+            entries.put(toLowerAscii(key),
+                    new SimpleImmutableEntry<>(key, value));
+        });
+        entrySet = Collections
+                .unmodifiableSet(new LinkedHashSet<>(entries.values()));
+    }
+
+    /**
+     * Creates a map with the entries of the given map.
+     *
+     * @param source
+     *            the entries of the new map, with non-null keys and values
+     * @param <V>
+     *            the type of the values
+     * @return the new map
+     */
+    static <V> AsciiCaseInsensitiveMap<V> of(Map<String, ? extends V> source) {
+        return new AsciiCaseInsensitiveMap<>(source);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        return (V) values[findIndex((String) key)];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return entrySet.size();
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * Finds the slot of the key, or the empty slot where it would be inserted.
+     */
+    private int findIndex(String key) {
+        int index = hash(key) & mask;
+        while (keys[index] != null && !equalsIgnoreAsciiCase(keys[index], key)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int hash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + toLowerAscii(key.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreAsciiCase(String a, String b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < a.length(); i++) {
+            if (toLowerAscii(a.charAt(i)) != toLowerAscii(b.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static String toLowerAscii(String key) {
+        var chars = key.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = toLowerAscii(chars[i]);
+        }
+        return new String(chars);
+    }
+}
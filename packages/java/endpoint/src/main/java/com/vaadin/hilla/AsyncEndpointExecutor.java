@@ -0,0 +1,188 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.vaadin.flow.internal.CurrentInstance;
+
+/**
+ * Runs endpoint calls outside of the servlet container thread when
+ * asynchronous endpoint execution is enabled using the
+ * {@code vaadin.endpoint.async-execution} property.
+ * <p>
+ * Each call runs in a virtual thread if the JVM supports them, otherwise in a
+ * bounded pool of daemon platform threads. When all the threads of the pool
+ * are busy, calls wait in a bounded queue, and calls that do not fit in the
+ * queue are rejected with a {@link RejectedExecutionException}. The current
+ * Vaadin
+ * instances (such as the current {@link com.vaadin.flow.server.VaadinService})
+ * and the Spring Security context of the submitting thread are made available
+ * to the call.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+public class AsyncEndpointExecutor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(AsyncEndpointExecutor.class);
+
+    static final int DEFAULT_MAX_THREADS = 200;
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private final ExecutorService executor;
+    private final long timeout;
+
+    /**
+     * Creates a new executor with the default platform thread pool limits
+     * and no timeout.
+     *
+     * @param enabled
+     *            {@code true} if endpoint calls should run asynchronously,
+     *            {@code false} to keep running them in the servlet container
+     *            thread
+     */
+    public AsyncEndpointExecutor(boolean enabled) {
+        this(enabled, DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY, -1);
+    }
+
+    /**
+     * Creates a new executor.
+     *
+     * @param enabled
+     *            {@code true} if endpoint calls should run asynchronously,
+     *            {@code false} to keep running them in the servlet container
+     *            thread
+     * @param maxThreads
+     *            the maximum number of platform threads used when the JVM
+     *            does not support virtual threads
+     * @param queueCapacity
+     *            the maximum number of calls waiting for a platform thread
+     * @param timeout
+     *            the timeout of asynchronously processed requests in
+     *            milliseconds, a negative value for no timeout or {@code 0}
+     *            to use the Spring MVC async request timeout
+     */
+    public AsyncEndpointExecutor(boolean enabled, int maxThreads,
+            int queueCapacity, long timeout) {
+        this(enabled ? createExecutorService(maxThreads, queueCapacity)
+                : null, timeout);
+    }
+
+    AsyncEndpointExecutor(ExecutorService executor, long timeout) {
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    private static ExecutorService createExecutorService(int maxThreads,
+            int queueCapacity) {
+        try {
+            // Looked up reflectively, as the project is compiled for Java 17
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.info("Virtual threads are not supported by the JVM, "
+                    + "asynchronous endpoint calls use at most {} "
+                    + "platform threads", maxThreads);
+            return createPlatformThreadPool(maxThreads, queueCapacity);
+        }
+    }
+
+    static ExecutorService createPlatformThreadPool(int maxThreads,
+            int queueCapacity) {
+        var threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            var thread = new Thread(runnable,
+                    "hilla-endpoint-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int poolSize = Math.max(1, maxThreads);
+        var pool = new ThreadPoolExecutor(poolSize, poolSize, 60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Checks whether endpoint calls should run asynchronously.
+     *
+     * @return {@code true} if asynchronous execution is enabled
+     */
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Gets the timeout of asynchronously processed endpoint requests.
+     *
+     * @return the timeout in milliseconds, a negative value for no timeout or
+     *         {@code 0} to use the Spring MVC async request timeout
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Runs the given task asynchronously, with the Vaadin instances and the
+     * security context of the calling thread.
+     *
+     * @param task
+     *            the task to run
+     * @throws IllegalStateException
+     *             if asynchronous execution is not enabled
+     * @throws RejectedExecutionException
+     *             if there are too many calls waiting for a thread
+     */
+    public void execute(Runnable task) {
+        if (executor == null) {
+            throw new IllegalStateException(
+                    "Asynchronous endpoint execution is not enabled");
+        }
+
+        var instances = CurrentInstance.getInstances();
+        var securityContext = SecurityContextHolder.getContext();
+        executor.execute(() -> {
+            CurrentInstance.restoreInstances(instances);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                task.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+                CurrentInstance.clearAll();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -15,14 +15,30 @@
  */
 package com.vaadin.hilla;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
@@ -30,10 +46,14 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -49,11 +69,15 @@ import com.vaadin.hilla.EndpointInvocationException.EndpointAccessDeniedExceptio
 import com.vaadin.hilla.EndpointInvocationException.EndpointBadRequestException;
 import com.vaadin.hilla.EndpointInvocationException.EndpointInternalException;
 import com.vaadin.hilla.EndpointInvocationException.EndpointNotFoundException;
+import com.vaadin.hilla.ExplicitNullableBeanSerializerModifier.UnexpectedNullValueException;
 import com.vaadin.hilla.auth.CsrfChecker;
 import com.vaadin.hilla.auth.EndpointAccessChecker;
 import com.vaadin.hilla.exception.EndpointException;
 
+import reactor.core.publisher.Mono;
+
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * The controller that is responsible for processing Vaadin endpoint requests.
@@ -80,6 +104,10 @@ public class EndpointController {
 
     static final String ENDPOINT_METHODS = "/{endpoint}/{method}";
 
+    static final String ENDPOINT_BATCH = "/batch";
+
+    private static final JsonFactory BATCH_JSON_FACTORY = new JsonFactory();
+
     /**
      * A qualifier to override the request and response default json mapper.
      */
@@ -93,6 +121,20 @@ public class EndpointController {
 
     private final EndpointInvoker endpointInvoker;
 
+    // Keeps up to 2 MB of idle chunks per processor
+    private final ResponseBufferPool responseBufferPool = new ResponseBufferPool(
+            Runtime.getRuntime().availableProcessors() * 128);
+
+    static final int DEFAULT_BATCH_MAX_CALLS = 100;
+
+    static final int DEFAULT_BATCH_MAX_PARALLEL_CALLS = 8;
+
+    @Autowired(required = false)
+    AsyncEndpointExecutor asyncEndpointExecutor;
+
+    @Autowired(required = false)
+    EndpointProperties endpointProperties;
+
     /**
      * A constructor used to initialize the controller.
      *
@@ -136,8 +178,7 @@ public class EndpointController {
             LOGGER.debug("No endpoints found in openapi.json:"
                     + " registering all endpoints found using the Spring context");
 
-            endpointBeans.forEach((name, endpointBean) -> endpointRegistry
-                    .registerEndpoint(endpointBean));
+            endpointRegistry.registerEndpoints(endpointBeans.values());
         }
 
         if (!endpointRegistry.isEmpty()) {
@@ -154,6 +195,24 @@ public class EndpointController {
      * order. After the method call, serializes the Java method execution result
      * and sends it back.
      * <p>
+     * The request body is streamed: each parameter is deserialized directly
+     * into the type of the corresponding method parameter, without building an
+     * intermediate JSON tree of the whole body. A successful result is
+     * serialized into a pooled byte buffer and copied to the response output
+     * stream, without creating an intermediate string.
+     * <p>
+     * Methods returning a {@link CompletionStage} or a {@link Mono} are
+     * processed using servlet async support: the container thread is released
+     * once the method returns, and the response is completed with the
+     * serialized value when it becomes available. The value is checked for
+     * unexpected null values and validated like a value returned directly.
+     * <p>
+     * If asynchronous execution is enabled, the endpoint method itself is run
+     * by the {@link AsyncEndpointExecutor} using servlet async support, and
+     * the container thread is released immediately. A call that the executor
+     * rejects because of too many waiting calls is answered with a 503
+     * Service Unavailable response.
+     * <p>
      * If an issue occurs during the request processing, an error response is
      * returned instead of the serialized Java method return value.
      *
@@ -162,49 +221,606 @@ public class EndpointController {
      *            sensitive
      * @param methodName
      *            the method name to execute on an endpoint, not case sensitive
-     * @param body
-     *            optional request body, that should be specified if the method
-     *            called has parameters
      * @param request
-     *            the current request which triggers the endpoint call
-     * @return execution result as a JSON string or an error message string
+     *            the current request which triggers the endpoint call, with an
+     *            optional body that should be specified if the method called
+     *            has parameters
+     * @param response
+     *            the response the execution result is written to
+     * @return an error message string, or {@code null} if the execution result
+     *         has been written to the response or is processed asynchronously
      */
     @PostMapping(path = ENDPOINT_METHODS, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<String> serveEndpoint(
             @PathVariable("endpoint") String endpointName,
             @PathVariable("method") String methodName,
-            @RequestBody(required = false) ObjectNode body,
+            HttpServletRequest request, HttpServletResponse response) {
+        LOGGER.debug("Endpoint: {}, method: {}", endpointName, methodName);
+
+        if (asyncEndpointExecutor != null
+                && asyncEndpointExecutor.isEnabled()) {
+            return serveEndpointAsync(endpointName, methodName, request);
+        }
+
+        Principal principal = request.getUserPrincipal();
+        EndpointCall endpointCall = () -> {
+            InputStream body;
+            try {
+                body = request.getInputStream();
+            } catch (IOException e) {
+                throw new EndpointBadRequestException(
+                        getBodyReadErrorMessage(endpointName, methodName));
+            }
+            return endpointInvoker.invokeStreaming(endpointName, methodName,
+                    body, principal, request::isUserInRole);
+        };
+
+        return handleEndpointCall(endpointName, methodName, request,
+                endpointCall, returnValue -> {
+                    if (isAsyncValue(returnValue)) {
+                        completeDeferredResult(endpointName, methodName,
+                                returnValue, startDeferredResult(request));
+                    } else {
+                        writeResponse(endpointName, methodName, returnValue,
+                                response);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Runs an endpoint call using the asynchronous executor. Once the
+     * asynchronous processing has started, the request can be recycled by the
+     * container at any time, for instance after a timeout, so everything the
+     * call needs from it is taken on the container thread: the CSRF check, the
+     * body, the user and their roles. The call itself has no
+     * {@link VaadinRequest} available.
+     */
+    private ResponseEntity<String> serveEndpointAsync(String endpointName,
+            String methodName, HttpServletRequest request) {
+        if (!csrfChecker.validateCsrfTokenInRequest(request)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(endpointInvoker.createResponseErrorObject(
+                            EndpointAccessChecker.ACCESS_DENIED_MSG));
+        }
+        byte[] body;
+        try {
+            body = request.getInputStream().readAllBytes();
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                    .body(endpointInvoker.createResponseErrorObject(
+                            getBodyReadErrorMessage(endpointName, methodName)));
+        }
+        Principal principal = request.getUserPrincipal();
+        Function<String, Boolean> rolesChecker = AuthenticationUtil
+                .getSecurityHolderRoleChecker();
+
+        DeferredResult<ResponseEntity<?>> deferredResult = startDeferredResult(
+                request);
+        try {
+            asyncEndpointExecutor.execute(() -> {
+                if (deferredResult.isSetOrExpired()) {
+                    // Timed out while waiting for a thread
+                    return;
+                }
+                ResponseEntity<String> errorResponse = invokeEndpointCall(
+                        endpointName, methodName, null,
+                        () -> endpointInvoker.invokeStreaming(endpointName,
+                                methodName, new ByteArrayInputStream(body),
+                                principal, rolesChecker),
+                        returnValue -> {
+                            completeDeferredResult(endpointName, methodName,
+                                    returnValue, deferredResult);
+                            return null;
+                        });
+                if (errorResponse != null) {
+                    deferredResult.setResult(errorResponse);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            deferredResult.setResult(
+                    createRejectedResponse(endpointName, methodName, e));
+        }
+        return null;
+    }
+
+    private static String getBodyReadErrorMessage(String endpointName,
+            String methodName) {
+        return String.format(
+                "Unable to read the request body for endpoint '%s' method '%s'",
+                endpointName, methodName);
+    }
+    }
+
+    private ResponseEntity<String> createRejectedResponse(String endpointName,
+            String methodName, RejectedExecutionException e) {
+        String errorMessage = String.format(
+                "Endpoint '%s' method '%s' cannot be executed: "
+                        + "too many concurrent endpoint calls",
+                endpointName, methodName);
+        LOGGER.warn(errorMessage, e);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(endpointInvoker.createResponseErrorObject(errorMessage));
+    }
+
+    /**
+     * Captures and processes batched Vaadin endpoint requests.
+     * <p>
+     * The request body is a JSON array of calls, each of them an object with
+     * the {@code endpoint} and {@code method} names and the optional
+     * {@code params} object of the method parameters. The CSRF token of the
+     * request is validated once for the whole batch; each call then goes
+     * through the same access checks and parameter validation as a single
+     * endpoint request.
+     * <p>
+     * The response is a JSON array with one entry per call, in the order of
+     * the request. Each entry is an object with the HTTP {@code status} the
+     * call would have had as a single request, and either the serialized
+     * {@code result} of a successful call or the {@code error} object of a
+     * failed one. A failed call does not affect the other calls in the batch.
+     * <p>
+     * A batch can contain at most {@code vaadin.endpoint.batch-max-calls}
+     * calls, larger batches are rejected with a 400 Bad Request response.
+     * <p>
+     * If asynchronous execution is enabled, the calls of a batch run in
+     * parallel using the {@link AsyncEndpointExecutor}, at most
+     * {@code vaadin.endpoint.batch-max-parallel-calls} at a time. Calls
+     * returning a {@link CompletionStage} or a {@link Mono} are awaited
+     * without blocking the container thread.
+     *
+     * @param request
+     *            the current request, with the batch of calls as the body
+     * @param response
+     *            the response the batch results are written to
+     * @return an error message string, or {@code null} if the batch results
+     *         have been written to the response or are processed
+     *         asynchronously
+     */
+    @PostMapping(path = ENDPOINT_BATCH, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+    public ResponseEntity<String> serveEndpointBatch(HttpServletRequest request,
+            HttpServletResponse response) {
+        if (!csrfChecker.validateCsrfTokenInRequest(request)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(endpointInvoker.createResponseErrorObject(
+                            EndpointAccessChecker.ACCESS_DENIED_MSG));
+        }
+
+        int maxCalls = endpointProperties != null
+                ? endpointProperties.getBatchMaxCalls()
+                : DEFAULT_BATCH_MAX_CALLS;
+        List<BatchCall> calls;
+        try {
+            calls = readBatchCalls(request.getInputStream(), maxCalls);
+        } catch (BatchTooLargeException e) {
+            LOGGER.debug("Endpoint batch request rejected", e);
+            return ResponseEntity.badRequest().body(endpointInvoker
+                    .createResponseErrorObject(String.format(
+                            "An endpoint batch can contain at most %d calls",
+                            maxCalls)));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debug("Invalid endpoint batch request", e);
+            return ResponseEntity.badRequest()
+                    .body(endpointInvoker.createResponseErrorObject(
+                            "Request body of an endpoint batch must be a "
+                                    + "JSON array of endpoint calls"));
+        }
+        LOGGER.debug("Endpoint batch of {} calls", calls.size());
+
+        // The workers of a parallel batch must not touch the request, so the
+        // roles are checked against the security context instead
+        Principal principal = request.getUserPrincipal();
+        Function<String, Boolean> rolesChecker = AuthenticationUtil
+                .getSecurityHolderRoleChecker();
+        boolean parallel = asyncEndpointExecutor != null
+                && asyncEndpointExecutor.isEnabled() && calls.size() > 1;
+        List<CompletableFuture<ResponseEntity<String>>> results = new ArrayList<>(
+                calls.size());
+        if (parallel) {
+            for (int i = 0; i < calls.size(); i++) {
+                results.add(new CompletableFuture<>());
+            }
+            invokeBatchCallsInParallel(calls, results, principal,
+                    rolesChecker);
+        } else {
+            for (BatchCall call : calls) {
+                results.add(invokeBatchCall(call, request, principal,
+                        rolesChecker));
+            }
+        }
+
+        var allResults = CompletableFuture
+                .allOf(results.toArray(CompletableFuture[]::new));
+        if (allResults.isDone()) {
+            ResponseBufferPool.Buffer buffer = responseBufferPool.acquire();
+            try {
+                writeBatchResults(calls, results, buffer);
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setContentLength(buffer.size());
+                buffer.writeTo(response.getOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                responseBufferPool.release(buffer);
+            }
+            return null;
+        }
+
+        DeferredResult<ResponseEntity<?>> deferredResult = startDeferredResult(
+                request);
+        allResults.whenComplete((value, error) -> {
+            ResponseBufferPool.Buffer buffer = responseBufferPool.acquire();
+            try {
+                writeBatchResults(calls, results, buffer);
+                deferredResult.setResult(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(buffer.toByteArray()));
+            } catch (IOException e) {
+                deferredResult.setErrorResult(e);
+            } finally {
+                responseBufferPool.release(buffer);
+            }
+        });
+        return null;
+    }
+
+    /**
+     * Runs the calls of a batch using the asynchronous executor, with at most
+     * the configured number of calls running at the same time. Each worker
+     * task takes the next call that has not been started yet, so that a batch
+     * never occupies more threads than that. The workers do not have the
+     * request, which the container may recycle before they are done.
+     */
+    private void invokeBatchCallsInParallel(List<BatchCall> calls,
+            List<CompletableFuture<ResponseEntity<String>>> results,
+            Principal principal, Function<String, Boolean> rolesChecker) {
+        int maxParallelCalls = endpointProperties != null
+                ? endpointProperties.getBatchMaxParallelCalls()
+                : DEFAULT_BATCH_MAX_PARALLEL_CALLS;
+        int workers = Math.min(calls.size(), Math.max(1, maxParallelCalls));
+        var nextCall = new AtomicInteger();
+        Runnable worker = () -> {
+            int i;
+            while ((i = nextCall.getAndIncrement()) < calls.size()) {
+                var result = results.get(i);
+                try {
+                    invokeBatchCall(calls.get(i), null, principal,
+                            rolesChecker).whenComplete((value, error) -> {
+                        if (error == null) {
+                            result.complete(value);
+                        } else {
+                            result.completeExceptionally(error);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+
+        int startedWorkers = 0;
+        RejectedExecutionException rejection = null;
+        for (int w = 0; w < workers; w++) {
+            try {
+                asyncEndpointExecutor.execute(worker);
+                startedWorkers++;
+            } catch (RejectedExecutionException e) {
+                rejection = e;
+                break;
+            }
+        }
+        if (startedWorkers == 0) {
+            // The started workers would otherwise run all the calls
+            int i;
+            while ((i = nextCall.getAndIncrement()) < calls.size()) {
+                results.get(i).complete(createRejectedResponse(
+                        calls.get(i).endpoint(), calls.get(i).method(),
+                        rejection));
+            }
+        }
+    }
+
+    private List<BatchCall> readBatchCalls(InputStream body, int maxCalls)
+            throws IOException {
+        JsonNode callsNode = endpointInvoker.readTree(body);
+        if (!callsNode.isArray()) {
+            throw new IllegalArgumentException(
+                    "Endpoint batch must be an array");
+        }
+        if (callsNode.size() > maxCalls) {
+            throw new BatchTooLargeException(callsNode.size());
+        }
+
+        List<BatchCall> calls = new ArrayList<>(callsNode.size());
+        for (JsonNode callNode : callsNode) {
+            JsonNode endpointNode = callNode.get("endpoint");
+            JsonNode methodNode = callNode.get("method");
+            JsonNode paramsNode = callNode.get("params");
+            if (endpointNode == null || !endpointNode.isTextual()
+                    || methodNode == null || !methodNode.isTextual()
+                    || (paramsNode != null && !paramsNode.isNull()
+                            && !paramsNode.isObject())) {
+                throw new IllegalArgumentException(
+                        "Invalid endpoint call in batch: " + callNode);
+            }
+            calls.add(new BatchCall(endpointNode.textValue(),
+                    methodNode.textValue(),
+                    paramsNode instanceof ObjectNode ? (ObjectNode) paramsNode
+                            : null));
+        }
+        return calls;
+    }
+
+    private CompletableFuture<ResponseEntity<String>> invokeBatchCall(
+            BatchCall call, HttpServletRequest request, Principal principal,
+            Function<String, Boolean> rolesChecker) {
+        String endpointName = call.endpoint();
+        String methodName = call.method();
+        CompletableFuture<ResponseEntity<String>> result = new CompletableFuture<>();
+        ResponseEntity<String> response = invokeEndpointCall(endpointName,
+                methodName, request,
+                () -> endpointInvoker.invoke(endpointName, methodName,
+                        call.params(), principal, rolesChecker),
+                returnValue -> {
+                    if (isAsyncValue(returnValue)) {
+                        CompletionStage<?> stage = returnValue instanceof Mono<?>
+                                ? ((Mono<?>) returnValue).toFuture()
+                                : (CompletionStage<?>) returnValue;
+                        stage.whenComplete((value, error) -> {
+                            Throwable failure = error != null ? error
+                                    : checkResolvedValue(endpointName,
+                                            methodName, value);
+                            result.complete(failure == null
+                                    ? createBatchResult(endpointName,
+                                            methodName, value)
+                                    : createAsyncErrorResponse(endpointName,
+                                            methodName, failure));
+                        });
+                        return null;
+                    }
+                    return createBatchResult(endpointName, methodName,
+                            returnValue);
+                });
+        if (response != null) {
+            result.complete(response);
+        }
+        return result;
+    }
+
+    private ResponseEntity<String> createBatchResult(String endpointName,
+            String methodName, Object returnValue) {
+        try {
+            return ResponseEntity.ok(endpointInvoker
+                    .writeValueAsString(endpointName, methodName, returnValue));
+        } catch (JsonProcessingException e) {
+            return createAsyncErrorResponse(endpointName, methodName,
+                    createSerializationException(endpointName, methodName,
+                            e));
+        }
+    }
+
+    private void writeBatchResults(List<BatchCall> calls,
+            List<CompletableFuture<ResponseEntity<String>>> results,
+            OutputStream out) throws IOException {
+        try (JsonGenerator generator = BATCH_JSON_FACTORY
+                .createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < results.size(); i++) {
+                ResponseEntity<String> result;
+                try {
+                    result = results.get(i).join();
+                } catch (CompletionException | CancellationException e) {
+                    result = createAsyncErrorResponse(calls.get(i).endpoint(),
+                            calls.get(i).method(), e);
+                }
+                generator.writeStartObject();
+                generator.writeNumberField("status",
+                        result.getStatusCode().value());
+                if (result.getBody() != null) {
+                    generator.writeFieldName(
+                            result.getStatusCode().is2xxSuccessful() ? "result"
+                                    : "error");
+                    generator.writeRawValue(result.getBody());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static boolean isAsyncValue(Object returnValue) {
+        return returnValue instanceof CompletionStage<?>
+                || returnValue instanceof Mono<?>;
+    }
+
+    private DeferredResult<ResponseEntity<?>> startDeferredResult(
             HttpServletRequest request) {
+        // Without an executor, or with a zero timeout, the Spring MVC async
+        // request timeout applies
+        Long timeout = asyncEndpointExecutor == null
+                || asyncEndpointExecutor.getTimeout() == 0 ? null
+                        : asyncEndpointExecutor.getTimeout();
+        DeferredResult<ResponseEntity<?>> deferredResult = new DeferredResult<>(
+                timeout);
+        try {
+            WebAsyncUtils.getAsyncManager(request)
+                    .startDeferredResultProcessing(deferredResult);
+        } catch (Exception e) {
+            throw new IllegalStateException(
+                    "Unable to start asynchronous request processing", e);
+        }
+        return deferredResult;
+    }
+
+    private void completeDeferredResult(String endpointName,
+            String methodName, Object returnValue,
+            DeferredResult<ResponseEntity<?>> deferredResult) {
+        CompletionStage<?> completionStage;
+        if (returnValue instanceof CompletionStage<?>) {
+            completionStage = (CompletionStage<?>) returnValue;
+        } else if (returnValue instanceof Mono<?>) {
+            completionStage = ((Mono<?>) returnValue).toFuture();
+        } else {
+            deferredResult.setResult(
+                    createAsyncResponse(endpointName, methodName, returnValue));
+            return;
+        }
+
+        completionStage.whenComplete((value, error) -> {
+            Throwable failure = error != null ? error
+                    : checkResolvedValue(endpointName, methodName, value);
+            deferredResult.setResult(failure == null
+                    ? createAsyncResponse(endpointName, methodName, value)
+                    : createAsyncErrorResponse(endpointName, methodName,
+                            failure));
+        });
+    }
+
+    private EndpointInternalException checkResolvedValue(String endpointName,
+            String methodName, Object value) {
+        try {
+            endpointInvoker.checkResolvedValue(endpointName, methodName,
+                    value);
+            return null;
+        } catch (EndpointInternalException e) {
+            return e;
+        }
+    }
+
+    private ResponseEntity<?> createAsyncResponse(String endpointName,
+            String methodName, Object returnValue) {
+        ResponseBufferPool.Buffer buffer = responseBufferPool.acquire();
+        try {
+            endpointInvoker.writeValue(endpointName, methodName, returnValue,
+                    buffer);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(buffer.toByteArray());
+        } catch (IOException e) {
+            return createAsyncErrorResponse(endpointName, methodName,
+                    createSerializationException(endpointName, methodName,
+                            e));
+        } finally {
+            responseBufferPool.release(buffer);
+        }
+    }
+
+    private ResponseEntity<String> createAsyncErrorResponse(
+            String endpointName, String methodName, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        if (error instanceof EndpointException) {
+            LOGGER.debug("Endpoint '{}' method '{}' aborted the execution",
+                    endpointName, methodName, error);
+            try {
+                return ResponseEntity.badRequest()
+                        .body(endpointInvoker.createResponseErrorObject(
+                                ((EndpointException) error)
+                                        .getSerializationData()));
+            } catch (JsonProcessingException e) {
+                String errorMessage = "Failed to serialize error object for endpoint exception. ";
+                LOGGER.error(errorMessage, e);
+                return ResponseEntity.internalServerError().body(errorMessage);
+            }
+        }
+
+        String errorMessage;
+        if (error instanceof EndpointInternalException) {
+            errorMessage = error.getMessage();
+        } else {
+            errorMessage = String.format(
+                    "Endpoint '%s' method '%s' execution failure", endpointName,
+                    methodName);
+            LOGGER.error(errorMessage, error);
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(endpointInvoker.createResponseErrorObject(errorMessage));
+    }
+
+    private EndpointInternalException createSerializationException(
+            String endpointName, String methodName, IOException e) {
+        if (e instanceof UnexpectedNullValueException) {
+            String errorMessage = String.format(
+                    "Unexpected return value in endpoint '%s' method '%s'. %s",
+                    endpointName, methodName,
+                    ((JsonMappingException) e).getOriginalMessage());
+            LOGGER.error(errorMessage);
+            return new EndpointInternalException(errorMessage);
+        }
+        String errorMessage = String.format(
+                "Failed to serialize endpoint '%s' method '%s' response. "
+                        + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
+                endpointName, methodName,
+                EndpointController.ENDPOINT_MAPPER_FACTORY_BEAN_QUALIFIER);
+        LOGGER.error(errorMessage, e);
+        return new EndpointInternalException(errorMessage);
+    }
+
+    /**
+     * Processes a Vaadin endpoint request whose body has already been parsed.
+     *
+     * @param endpointName
+     *            the name of an endpoint to address the calls to, not case
+     *            sensitive
+     * @param methodName
+     *            the method name to execute on an endpoint, not case sensitive
+     * @param body
+     *            optional request body, that should be specified if the method
+     *            called has parameters
+     * @param request
+     *            the current request which triggers the endpoint call
+     * @return execution result as a JSON string or an error message string
+     * @see #serveEndpoint(String, String, HttpServletRequest,
+     *      HttpServletResponse)
+     */
+    public ResponseEntity<String> serveEndpoint(String endpointName,
+            String methodName, ObjectNode body, HttpServletRequest request) {
         LOGGER.debug("Endpoint: {}, method: {}, request body: {}", endpointName,
                 methodName, body);
 
+        return handleEndpointCall(endpointName, methodName, request,
+                () -> endpointInvoker.invoke(endpointName, methodName, body,
+                        request.getUserPrincipal(), request::isUserInRole),
+                returnValue -> ResponseEntity.ok(endpointInvoker
+                        .writeValueAsString(endpointName, methodName,
+                                returnValue)));
+    }
+
+    private ResponseEntity<String> handleEndpointCall(String endpointName,
+            String methodName, HttpServletRequest request,
+            EndpointCall endpointCall, EndpointResultWriter resultWriter) {
         if (!csrfChecker.validateCsrfTokenInRequest(request)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(endpointInvoker.createResponseErrorObject(
                             EndpointAccessChecker.ACCESS_DENIED_MSG));
         }
 
+        return invokeEndpointCall(endpointName, methodName, request,
+                endpointCall, resultWriter);
+    }
+
+    private ResponseEntity<String> invokeEndpointCall(String endpointName,
+            String methodName, HttpServletRequest request,
+            EndpointCall endpointCall, EndpointResultWriter resultWriter) {
         try {
-            // Put a VaadinRequest in the instances object so as the request is
-            // available in the endpoint method
-            VaadinServletService service = (VaadinServletService) VaadinService
-                    .getCurrent();
-            CurrentInstance.set(VaadinRequest.class,
-                    new VaadinServletRequest(request, service));
-            Object returnValue = endpointInvoker.invoke(endpointName,
-                    methodName, body, request.getUserPrincipal(),
-                    request::isUserInRole);
+            if (request != null) {
+                // Put a VaadinRequest in the instances object so as the
+                // request is available in the endpoint method
+                VaadinServletService service = (VaadinServletService) VaadinService
+                        .getCurrent();
+                CurrentInstance.set(VaadinRequest.class,
+                        new VaadinServletRequest(request, service));
+            }
+            Object returnValue = endpointCall.call();
             try {
-                return ResponseEntity
-                        .ok(endpointInvoker.writeValueAsString(returnValue));
+                return resultWriter.write(returnValue);
             } catch (JsonProcessingException e) {
-                String errorMessage = String.format(
-                        "Failed to serialize endpoint '%s' method '%s' response. "
-                                + "Double check method's return type or specify a custom mapper bean with qualifier '%s'",
-                        endpointName, methodName,
-                        EndpointController.ENDPOINT_MAPPER_FACTORY_BEAN_QUALIFIER);
-                LOGGER.error(errorMessage, e);
-                throw new EndpointInternalException(errorMessage);
+                throw createSerializationException(endpointName, methodName,
+                        e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         } catch (EndpointException e) {
             try {
@@ -232,6 +848,59 @@ public class EndpointController {
 
     }
 
+    private void writeResponse(String endpointName, String methodName,
+            Object returnValue, HttpServletResponse response)
+            throws IOException {
+        ResponseBufferPool.Buffer buffer = responseBufferPool.acquire();
+        try {
+            // Serialize completely before writing anything, so that a
+            // serialization failure can still be reported as an error
+            endpointInvoker.writeValue(endpointName, methodName, returnValue,
+                    buffer);
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setContentLength(buffer.size());
+            buffer.writeTo(response.getOutputStream());
+        } finally {
+            responseBufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Invokes an endpoint method for the current request.
+     */
+    @FunctionalInterface
+    private interface EndpointCall {
+        Object call() throws EndpointNotFoundException,
+                EndpointAccessDeniedException, EndpointBadRequestException,
+                EndpointInternalException;
+    }
+
+    /**
+     * Thrown when a batch request contains more calls than allowed.
+     */
+    private static class BatchTooLargeException extends RuntimeException {
+        private BatchTooLargeException(int calls) {
+            super("Endpoint batch of " + calls + " calls");
+        }
+    }
+
+    /**
+     * A call of an endpoint method in a batch request.
+     */
+    private record BatchCall(String endpoint, String method,
+            ObjectNode params) {
+    }
+
+    /**
+     * Sends the value returned by an endpoint method to the client.
+     */
+    @FunctionalInterface
+    private interface EndpointResultWriter {
+        ResponseEntity<String> write(Object returnValue) throws IOException;
+    }
+
     /**
      * Parses the <code>openapi.json</code> file to discover defined endpoints.
      *
@@ -255,6 +924,7 @@ public class EndpointController {
                     // Declared endpoints are first searched as Spring Beans. If
                     // not found, they are, if possible, instantiated as regular
                     // classes using their default constructor
+                    var endpoints = new ArrayList<>();
                     tagsNode.forEach(tag -> {
                         Optional.ofNullable(tag.get("name"))
                                 .map(JsonNode::asText)
@@ -263,8 +933,9 @@ public class EndpointController {
                                         .ofNullable(tag.get("x-class-name"))
                                         .map(JsonNode::asText)
                                         .map(this::instantiateEndpointByClassName))
-                                .ifPresent(endpointRegistry::registerEndpoint);
+                                .ifPresent(endpoints::add);
                     });
+                    endpointRegistry.registerEndpoints(endpoints);
                 }
             } catch (IOException e) {
                 LOGGER.warn("Failed to read openapi.json", e);
@@ -119,8 +119,28 @@ public class EndpointControllerConfiguration {
             @Autowired(required = false) @Qualifier(EndpointController.ENDPOINT_MAPPER_FACTORY_BEAN_QUALIFIER) JacksonObjectMapperFactory endpointMapperFactory,
             ExplicitNullableTypeChecker explicitNullableTypeChecker,
             ServletContext servletContext, EndpointRegistry endpointRegistry) {
-        return new EndpointInvoker(applicationContext, endpointMapperFactory,
-                explicitNullableTypeChecker, servletContext, endpointRegistry);
+        var endpointInvoker = new EndpointInvoker(applicationContext,
+                endpointMapperFactory, explicitNullableTypeChecker,
+                servletContext, endpointRegistry);
+        endpointInvoker.setNullCheckSamplingInterval(
+                endpointProperties.getNullCheckSamplingInterval());
+        endpointInvoker
+                .setFusedNullCheck(endpointProperties.isFusedNullCheck());
+        return endpointInvoker;
+    }
+
+    /**
+     * Registers the executor used to run endpoint calls when asynchronous
+     * execution is enabled.
+     *
+     * @return the asynchronous endpoint executor
+     */
+    @Bean
+    AsyncEndpointExecutor asyncEndpointExecutor() {
+        return new AsyncEndpointExecutor(endpointProperties.isAsyncExecution(),
+                endpointProperties.getAsyncExecutionMaxThreads(),
+                endpointProperties.getAsyncExecutionQueueCapacity(),
+                endpointProperties.getAsyncTimeout());
     }
 
     /**
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.util.ClassUtils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.googlecode.gentyref.GenericTypeReflector;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import jakarta.validation.metadata.MethodDescriptor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds everything needed to invoke an endpoint method that does not depend on
+ * the request: the resolved parameter types together with their readers, the
+ * return value writer, the non-null context of the method, whether the method
+ * has any Bean Validation constraints and the element that access annotations
+ * are read from.
+ * <p>
+ * Instances are created once, when the endpoint is registered, so that no
+ * reflection or Jackson type resolution is needed when the method is called.
+ * Apart from the return value check counter, they are immutable.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+final class EndpointInvocationPlan {
+    private final Object endpointObject;
+    private final Method method;
+    private final Type[] parameterTypes;
+    private final JavaType[] parameterJavaTypes;
+    private final ObjectReader[] parameterReaders;
+    private final ObjectWriter returnValueWriter;
+    private final boolean returnValueChecked;
+    private final Type resolvedValueType;
+    private final boolean resolvedValueRequired;
+    private final boolean nonNullApi;
+    private final Class<?> accessCheckClass;
+    private final boolean constrainedParameters;
+    private final boolean constrainedReturnValue;
+    private final AtomicInteger returnValueChecks = new AtomicInteger();
+
+    private EndpointInvocationPlan(Object endpointObject, Method method,
+            Type[] parameterTypes,
+            JavaType[] parameterJavaTypes, ObjectReader[] parameterReaders,
+            ObjectWriter returnValueWriter, boolean returnValueChecked,
+            Type resolvedValueType, boolean resolvedValueRequired,
+            boolean nonNullApi,
+            Class<?> accessCheckClass, boolean constrainedParameters,
+            boolean constrainedReturnValue) {
+        this.endpointObject = endpointObject;
+        this.method = method;
+        this.parameterTypes = parameterTypes;
+        this.parameterJavaTypes = parameterJavaTypes;
+        this.parameterReaders = parameterReaders;
+        this.returnValueWriter = returnValueWriter;
+        this.returnValueChecked = returnValueChecked;
+        this.resolvedValueType = resolvedValueType;
+        this.resolvedValueRequired = resolvedValueRequired;
+        this.nonNullApi = nonNullApi;
+        this.accessCheckClass = accessCheckClass;
+        this.constrainedParameters = constrainedParameters;
+        this.constrainedReturnValue = constrainedReturnValue;
+    }
+
+    /**
+     * Resolves the invocation plan of the given endpoint method.
+     *
+     * @param endpointObject
+     *            the endpoint instance the method is invoked on
+     * @param method
+     *            the endpoint method
+     * @param endpointMapper
+     *            the mapper used to read parameters and write return values
+     * @param validator
+     *            the validator used to validate parameters and return values
+     * @return the invocation plan
+     */
+    static EndpointInvocationPlan create(Object endpointObject, Method method,
+            ObjectMapper endpointMapper, Validator validator) {
+        var endpointClass = ClassUtils.getUserClass(endpointObject);
+        var parameterTypes = GenericTypeReflector
+                .getExactParameterTypes(method, endpointClass);
+        var typeFactory = endpointMapper.getTypeFactory();
+
+        var parameterJavaTypes = new JavaType[parameterTypes.length];
+        var parameterReaders = new ObjectReader[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterJavaTypes[i] = typeFactory
+                    .constructType(parameterTypes[i]);
+            parameterReaders[i] = endpointMapper
+                    .readerFor(parameterJavaTypes[i]);
+        }
+
+        // A writer for a specific root type would ignore the runtime type of
+        // the value, so it is only used when there cannot be any subtypes
+        var returnClass = method.getReturnType();
+        ObjectWriter returnValueWriter;
+        if (!returnClass.isPrimitive()
+                && Modifier.isFinal(returnClass.getModifiers())) {
+            returnValueWriter = endpointMapper
+                    .writerFor(typeFactory.constructType(GenericTypeReflector
+                            .getExactReturnType(method, endpointClass)));
+        } else {
+            returnValueWriter = endpointMapper.writer();
+        }
+        boolean nonNullApi = isNonNullApi(
+                method.getDeclaringClass().getPackage());
+        // Primitive and void return values can never be unexpected nulls, so
+        // the null check is skipped for them
+        boolean returnValueChecked = canBeNull(returnClass);
+
+        // The value that a Mono or a CompletionStage resolves to is sent
+        // instead of the returned object, so it is checked for the type of the
+        // value, which is also the type the client code is generated for
+        Type resolvedValueType = getResolvedValueType(method, endpointClass);
+        boolean resolvedValueRequired = resolvedValueType != null
+                && canBeNull(GenericTypeReflector.erase(resolvedValueType))
+                && isResolvedValueRequired(method, nonNullApi);
+        // Only has an effect if the mapper checks null values when
+        // serializing, see ExplicitNullableBeanSerializerModifier
+        returnValueWriter = returnValueWriter.withAttribute(
+                ExplicitNullableBeanSerializerModifier.REQUIRED_BY_CONTEXT,
+                nonNullApi);
+
+        // Methods inherited from an @EndpointExposed class are checked using
+        // the annotations of the endpoint class
+        var accessCheckClass = method.getDeclaringClass().equals(endpointClass)
+                ? null
+                : endpointClass;
+
+        // Methods without constraints skip the validation calls. The class
+        // is the same one the validator uses for the endpoint object.
+        boolean constrainedParameters = true;
+        boolean constrainedReturnValue = true;
+        try {
+            MethodDescriptor methodDescriptor = validator
+                    .getConstraintsForClass(endpointObject.getClass())
+                    .getConstraintsForMethod(method.getName(),
+                            method.getParameterTypes());
+            constrainedParameters = methodDescriptor != null
+                    && methodDescriptor.hasConstrainedParameters();
+            constrainedReturnValue = methodDescriptor != null
+                    && methodDescriptor.hasConstrainedReturnValue();
+        } catch (ValidationException e) {
+            // Keep validating every call, so that the problem is reported
+            // when the method is invoked
+        }
+
+        return new EndpointInvocationPlan(endpointObject, method,
+                parameterTypes, parameterJavaTypes, parameterReaders,
+                returnValueWriter, returnValueChecked, resolvedValueType,
+                resolvedValueRequired, nonNullApi, accessCheckClass,
+                constrainedParameters, constrainedReturnValue);
+    }
+
+    private static Type getResolvedValueType(Method method,
+            Class<?> endpointClass) {
+        TypeVariable<? extends Class<?>> valueVariable;
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) {
+            valueVariable = CompletionStage.class.getTypeParameters()[0];
+        } else if (Mono.class.isAssignableFrom(method.getReturnType())) {
+            valueVariable = Mono.class.getTypeParameters()[0];
+        } else {
+            return null;
+        }
+        Type valueType = GenericTypeReflector.getTypeParameter(
+                GenericTypeReflector.getExactReturnType(method, endpointClass),
+                valueVariable);
+        if (valueType instanceof WildcardType) {
+            valueType = ((WildcardType) valueType).getUpperBounds()[0];
+        }
+        // Raw types resolve to any value
+        return valueType == null ? Object.class : valueType;
+    }
+
+    private static boolean canBeNull(Class<?> valueClass) {
+        return !valueClass.isPrimitive() && !Void.class.equals(valueClass);
+    }
+
+    private static boolean isResolvedValueRequired(Method method,
+            boolean nonNullApi) {
+        if (!ExplicitNullableTypeChecker.isRequired(method, nonNullApi)) {
+            return false;
+        }
+        // A nullable type argument, as in Mono<@Nullable T>, allows an empty
+        // or null value
+        var annotatedReturnType = method.getAnnotatedReturnType();
+        if (annotatedReturnType instanceof AnnotatedParameterizedType) {
+            var typeArguments = ((AnnotatedParameterizedType) annotatedReturnType)
+                    .getAnnotatedActualTypeArguments();
+            return typeArguments.length != 1 || ExplicitNullableTypeChecker
+                    .isRequired(typeArguments[0], true);
+        }
+        return true;
+    }
+
+    private static boolean isNonNullApi(Package pkg) {
+        return Stream.of(pkg.getAnnotations())
+                .anyMatch(ann -> ann.annotationType().getSimpleName()
+                        .equals(NonNullApi.class.getSimpleName()));
+    }
+
+    /**
+     * Invokes the endpoint method on the endpoint object.
+     *
+     * @param parameters
+     *            the method parameters
+     * @return the value returned by the method
+     * @throws IllegalAccessException
+     *             if the method cannot be accessed
+     * @throws IllegalArgumentException
+     *             if the parameters do not match the method parameters
+     * @throws InvocationTargetException
+     *             if the method throws an exception
+     */
+    Object invoke(Object[] parameters)
+            throws IllegalAccessException, InvocationTargetException {
+        return method.invoke(endpointObject, parameters);
+    }
+
+    /**
+     * Whether the values returned by the method need to be checked for
+     * unexpected null values at all. Primitive and void return types are
+     * never checked.
+     *
+     * @return {@code true} if the return values are checked
+     */
+    boolean isReturnValueChecked() {
+        return returnValueChecked;
+    }
+
+    /**
+     * Decides whether the return value of the current call should be checked
+     * for unexpected null values.
+     *
+     * @param samplingInterval
+     *            check one of every {@code samplingInterval} calls
+     * @return {@code true} if the return value should be checked
+     */
+    boolean sampleReturnValueCheck(int samplingInterval) {
+        return samplingInterval <= 1 || Math.floorMod(
+                returnValueChecks.getAndIncrement(), samplingInterval) == 0;
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    Type[] getParameterTypes() {
+        return parameterTypes.clone();
+    }
+
+    Type getParameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    JavaType getParameterJavaType(int index) {
+        return parameterJavaTypes[index];
+    }
+
+    ObjectReader getParameterReader(int index) {
+        return parameterReaders[index];
+    }
+
+    ObjectWriter getReturnValueWriter() {
+        return returnValueWriter;
+    }
+
+    boolean isNonNullApi() {
+        return nonNullApi;
+    }
+
+    /**
+     * Gets the type of the value that the {@link CompletionStage} or the
+     * {@link Mono} returned by the method resolves to.
+     *
+     * @return the type of the resolved value, or {@code null} if the method
+     *         does not return a {@link CompletionStage} or a {@link Mono}
+     */
+    Type getResolvedValueType() {
+        return resolvedValueType;
+    }
+
+    /**
+     * Checks whether the value that the {@link CompletionStage} or the
+     * {@link Mono} returned by the method resolves to must not be
+     * {@code null}, including the value of an empty {@link Mono}.
+     *
+     * @return {@code true} if the resolved value is required
+     */
+    boolean isResolvedValueRequired() {
+        return resolvedValueRequired;
+    }
+
+    /**
+     * Checks whether the method has parameters with constraints or marked for
+     * cascaded validation. If not, validating the parameters of the method
+     * can be skipped.
+     *
+     * @return {@code true} if the parameters of the method need validation
+     */
+    boolean hasConstrainedParameters() {
+        return constrainedParameters;
+    }
+
+    /**
+     * Checks whether the return value of the method has constraints or is
+     * marked for cascaded validation. If not, validating the return value can
+     * be skipped.
+     *
+     * @return {@code true} if the return value needs validation
+     */
+    boolean hasConstrainedReturnValue() {
+        return constrainedReturnValue;
+    }
+
+    /**
+     * Gets the class whose access annotations apply to the method, or
+     * {@code null} if the annotations of the method itself apply.
+     *
+     * @return the class to check access for, or {@code null}
+     */
+    Class<?> getAccessCheckClass() {
+        return accessCheckClass;
+    }
+}
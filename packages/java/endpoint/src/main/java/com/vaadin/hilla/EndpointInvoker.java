@@ -15,11 +15,15 @@
  */
 package com.vaadin.hilla;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.googlecode.gentyref.GenericTypeReflector;
 import com.vaadin.flow.server.VaadinServletContext;
 import com.vaadin.hilla.EndpointInvocationException.EndpointAccessDeniedException;
 import com.vaadin.hilla.EndpointInvocationException.EndpointBadRequestException;
@@ -35,16 +39,18 @@ import com.vaadin.hilla.parser.jackson.JacksonObjectMapperFactory;
 import jakarta.servlet.ServletContext;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
+import jakarta.validation.ValidationException;
 import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
-import org.springframework.lang.NonNullApi;
-import org.springframework.util.ClassUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -52,12 +58,14 @@ import java.security.Principal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -80,6 +88,9 @@ public class EndpointInvoker {
     private final ExplicitNullableTypeChecker explicitNullableTypeChecker;
     private final ServletContext servletContext;
     private final Validator validator;
+    private final Map<Class<?>, Boolean> constrainedBeanTypes = new ConcurrentHashMap<>();
+    private int nullCheckSamplingInterval = 1;
+    private boolean fusedNullCheck;
 
     /**
      * Creates an instance of this bean.
@@ -115,6 +126,10 @@ public class EndpointInvoker {
         }
         this.explicitNullableTypeChecker = explicitNullableTypeChecker;
         this.endpointRegistry = endpointRegistry;
+        if (this.endpointMapper != null) {
+            this.endpointRegistry
+                    .setInvocationPlanFactory(this::createInvocationPlan);
+        }
 
         Validator validator = null;
         try {
@@ -159,6 +174,24 @@ public class EndpointInvoker {
         return method.getReturnType();
     }
 
+    /**
+     * Gets an annotation of the given method.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method
+     * @param annotationType
+     *            the type of the annotation
+     * @return the annotation, or {@code null} if the method is not found or
+     *         does not have the annotation
+     */
+    public <A extends Annotation> A getMethodAnnotation(String endpointName,
+            String methodName, Class<A> annotationType) {
+        Method method = getMethod(endpointName, methodName);
+        return method == null ? null : method.getAnnotation(annotationType);
+    }
+
     /**
      * Invoke the given endpoint method with the given parameters if the user
      * has access to do so.
@@ -190,24 +223,94 @@ public class EndpointInvoker {
             Function<String, Boolean> rolesChecker)
             throws EndpointNotFoundException, EndpointAccessDeniedException,
             EndpointBadRequestException, EndpointInternalException {
-        VaadinEndpointData vaadinEndpointData = endpointRegistry
-                .get(endpointName);
-        if (vaadinEndpointData == null) {
-            getLogger().debug("Endpoint '{}' not found", endpointName);
-            throw new EndpointNotFoundException();
-        }
+        VaadinEndpointData vaadinEndpointData = getEndpointData(endpointName);
+        EndpointInvocationPlan invocationPlan = getInvocationPlan(endpointName,
+                methodName, vaadinEndpointData);
 
-        Method methodToInvoke = getMethod(endpointName, methodName);
-        if (methodToInvoke == null) {
-            getLogger().debug("Method '{}' not found in endpoint '{}'",
-                    methodName, endpointName);
-            throw new EndpointNotFoundException();
-        }
+        return invokeVaadinEndpointMethod(endpointName, methodName,
+                invocationPlan, vaadinEndpointData, principal, rolesChecker,
+                () -> {
+                    Map<String, JsonNode> requestParameters = getRequestParameters(
+                            body);
+                    checkParameterCount(endpointName, methodName,
+                            invocationPlan, requestParameters.size());
+                    return getVaadinEndpointParameters(requestParameters,
+                            invocationPlan, methodName, endpointName);
+                });
+
+    }
+
+    /**
+     * Invoke the given endpoint method with the parameters read from the given
+     * JSON stream if the user has access to do so.
+     * <p>
+     * Unlike {@link #invoke(String, String, ObjectNode, Principal, Function)},
+     * the body is not parsed into an intermediate JSON tree: each parameter is
+     * deserialized directly from the stream into the type of the corresponding
+     * method parameter. The stream is read only if the user has access to the
+     * method, and it is closed afterwards.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method in the endpoint
+     * @param body
+     *            the request body stream, containing a JSON object with the
+     *            method parameters in the order they are declared, or an empty
+     *            stream if the method has no parameters
+     * @param principal
+     *            the user principal object
+     * @param rolesChecker
+     *            a function for checking if a user is in a given role
+     * @return the return value of the invoked endpoint method
+     * @throws EndpointNotFoundException
+     *             if the endpoint was not found
+     * @throws EndpointAccessDeniedException
+     *             if access to the endpoint was denied
+     * @throws EndpointBadRequestException
+     *             if there was a problem with the request data
+     * @throws EndpointInternalException
+     *             if there was an internal error executing the endpoint method
+     */
+    public Object invokeStreaming(String endpointName, String methodName,
+            InputStream body, Principal principal,
+            Function<String, Boolean> rolesChecker)
+            throws EndpointNotFoundException, EndpointAccessDeniedException,
+            EndpointBadRequestException, EndpointInternalException {
+        VaadinEndpointData vaadinEndpointData = getEndpointData(endpointName);
+        EndpointInvocationPlan invocationPlan = getInvocationPlan(endpointName,
+                methodName, vaadinEndpointData);
 
         return invokeVaadinEndpointMethod(endpointName, methodName,
-                methodToInvoke, body, vaadinEndpointData, principal,
-                rolesChecker);
+                invocationPlan, vaadinEndpointData, principal, rolesChecker,
+                () -> readVaadinEndpointParameters(body, invocationPlan,
+                        methodName, endpointName));
+    }
 
+    /**
+     * Checks whether the user has access to the given endpoint method, without
+     * invoking it.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method in the endpoint
+     * @param principal
+     *            the user principal object
+     * @param rolesChecker
+     *            a function for checking if a user is in a given role
+     * @throws EndpointNotFoundException
+     *             if the endpoint was not found
+     * @throws EndpointAccessDeniedException
+     *             if access to the endpoint was denied
+     */
+    public void checkAccess(String endpointName, String methodName,
+            Principal principal, Function<String, Boolean> rolesChecker)
+            throws EndpointNotFoundException, EndpointAccessDeniedException {
+        VaadinEndpointData vaadinEndpointData = getEndpointData(endpointName);
+        checkAccess(endpointName, methodName,
+                getInvocationPlan(endpointName, methodName, vaadinEndpointData),
+                principal, rolesChecker);
     }
 
     String createResponseErrorObject(String errorMessage) {
@@ -233,11 +336,175 @@ public class EndpointInvoker {
         return wrapper.accessChecker;
     }
 
+    /**
+     * Reads a JSON request body into a tree, using the endpoint mapper.
+     *
+     * @param body
+     *            the request body
+     * @return the JSON tree, or a missing node if the body is empty
+     * @throws IOException
+     *             if the body cannot be read or is not valid JSON
+     */
+    JsonNode readTree(InputStream body) throws IOException {
+        return endpointMapper.readTree(body);
+    }
+
+    /**
+     * Gets the configuration the endpoint mapper serializes values with, for
+     * instance to find out which properties of a type are sent to the
+     * browser.
+     *
+     * @return the serialization configuration of the endpoint mapper
+     */
+    public SerializationConfig getSerializationConfig() {
+        return endpointMapper.getSerializationConfig();
+    }
+
     String writeValueAsString(Object returnValue)
             throws JsonProcessingException {
         return endpointMapper.writeValueAsString(returnValue);
     }
 
+    /**
+     * Serializes the value returned by the given endpoint method using the
+     * writer resolved for the method when the endpoint was registered.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method in the endpoint
+     * @param returnValue
+     *            the value returned by the method
+     * @return the serialized value
+     * @throws JsonProcessingException
+     *             if the value cannot be serialized
+     */
+    String writeValueAsString(String endpointName, String methodName,
+            Object returnValue) throws JsonProcessingException {
+        return getReturnValueWriter(endpointName, methodName)
+                .writeValueAsString(returnValue);
+    }
+
+    /**
+     * Serializes the value returned by the given endpoint method as UTF-8 JSON
+     * into the given stream, using the writer resolved for the method when the
+     * endpoint was registered.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method in the endpoint
+     * @param returnValue
+     *            the value returned by the method
+     * @param outputStream
+     *            the stream to write to
+     * @throws JsonProcessingException
+     *             if the value cannot be serialized
+     * @throws IOException
+     *             if writing to the stream fails
+     */
+    void writeValue(String endpointName, String methodName,
+            Object returnValue, OutputStream outputStream) throws IOException {
+        getReturnValueWriter(endpointName, methodName).writeValue(outputStream,
+                returnValue);
+    }
+
+    private ObjectWriter getReturnValueWriter(String endpointName,
+            String methodName) {
+        VaadinEndpointData endpointData = endpointRegistry.get(endpointName);
+        if (endpointData == null) {
+            return endpointMapper.writer();
+        }
+        return endpointData.getInvocationPlan(methodName)
+                .map(EndpointInvocationPlan::getReturnValueWriter)
+                .orElseGet(endpointMapper::writer);
+    }
+
+    /**
+     * Sets how often the return values of each endpoint method are checked
+     * for unexpected null values: one of every {@code interval} calls.
+     *
+     * @param interval
+     *            the sampling interval, {@code 1} to check every call
+     */
+    void setNullCheckSamplingInterval(int interval) {
+        this.nullCheckSamplingInterval = Math.max(1, interval);
+        if (nullCheckSamplingInterval > 1) {
+            getLogger().warn(
+                    "Only one of every {} return values of each endpoint method"
+                            + " is checked for unexpected null values, as set by"
+                            + " 'vaadin.endpoint.null-check-sampling-interval'."
+                            + " Null values breaking the generated TypeScript"
+                            + " types can reach the client unnoticed.",
+                    nullCheckSamplingInterval);
+        }
+    }
+
+    /**
+     * Sets whether the properties of Java beans in return values are checked
+     * for unexpected null values while the values are serialized, instead of
+     * in a separate pass before serialization.
+     *
+     * @param fusedNullCheck
+     *            {@code true} to check bean properties during serialization
+     */
+    void setFusedNullCheck(boolean fusedNullCheck) {
+        if (fusedNullCheck && !this.fusedNullCheck && endpointMapper != null) {
+            endpointMapper.registerModule(
+                    ExplicitNullableBeanSerializerModifier.createModule());
+        }
+        this.fusedNullCheck = fusedNullCheck;
+    }
+
+    /**
+     * Discards what is known about the constraints of the parameter classes
+     * validated so far, so that they are looked up again the next time a
+     * value of the class is validated. Used when application classes are
+     * hotswapped in development mode.
+     */
+    public void clearConstrainedBeanTypes() {
+        constrainedBeanTypes.clear();
+    }
+
+    private EndpointInvocationPlan createInvocationPlan(Object endpointObject,
+            Method method) {
+        return EndpointInvocationPlan.create(endpointObject, method,
+                endpointMapper, validator);
+    }
+
+    /**
+     * Validates a parameter value, skipping the validator if the class of the
+     * value has no constraints and no properties marked for cascaded
+     * validation.
+     */
+    private Set<ConstraintViolation<Object>> validateBean(Object bean) {
+        boolean constrained = constrainedBeanTypes.computeIfAbsent(
+                bean.getClass(), beanClass -> {
+                    try {
+                        return validator.getConstraintsForClass(beanClass)
+                                .isBeanConstrained();
+                    } catch (ValidationException e) {
+                        // Let the validator report the problem
+                        return true;
+                    }
+                });
+        return constrained ? validator.validate(bean)
+                : Collections.emptySet();
+    }
+
+    private String checkReturnValue(Object returnValue,
+            EndpointInvocationPlan invocationPlan) {
+        if (fusedNullCheck) {
+            // Bean properties are checked by the return value writer
+            return explicitNullableTypeChecker.checkValueForAnnotatedElement(
+                    returnValue, invocationPlan.getMethod(),
+                    invocationPlan.isNonNullApi(), false);
+        }
+        return explicitNullableTypeChecker.checkValueForAnnotatedElement(
+                returnValue, invocationPlan.getMethod(),
+                invocationPlan.isNonNullApi());
+    }
+
     private List<ValidationErrorData> createBeanValidationErrors(
             Collection<ConstraintViolation<Object>> beanConstraintViolations) {
         return beanConstraintViolations.stream().map(constraintViolation -> {
@@ -299,10 +566,32 @@ public class EndpointInvoker {
         return new EndpointValidationException(message, validationErrorData);
     }
 
-    private Type[] getJavaParameters(Method methodToInvoke, Type classType) {
-        return Stream.of(GenericTypeReflector
-                .getExactParameterTypes(methodToInvoke, classType))
-                .toArray(Type[]::new);
+    private VaadinEndpointData getEndpointData(String endpointName)
+            throws EndpointNotFoundException {
+        VaadinEndpointData vaadinEndpointData = endpointRegistry
+                .get(endpointName);
+        if (vaadinEndpointData == null) {
+            getLogger().debug("Endpoint '{}' not found", endpointName);
+            throw new EndpointNotFoundException();
+        }
+        return vaadinEndpointData;
+    }
+
+    private EndpointInvocationPlan getInvocationPlan(String endpointName,
+            String methodName, VaadinEndpointData vaadinEndpointData)
+            throws EndpointNotFoundException {
+        Method methodToInvoke = vaadinEndpointData.getMethod(methodName)
+                .orElse(null);
+        if (methodToInvoke == null) {
+            getLogger().debug("Method '{}' not found in endpoint '{}'",
+                    methodName, endpointName);
+            throw new EndpointNotFoundException();
+        }
+
+        return vaadinEndpointData.getInvocationPlan(methodName)
+                .orElseGet(() -> createInvocationPlan(
+                        vaadinEndpointData.getEndpointObject(),
+                        methodToInvoke));
     }
 
     private Method getMethod(String endpointName, String methodName) {
@@ -323,27 +612,114 @@ public class EndpointInvoker {
         return parametersData;
     }
 
+    private void checkParameterCount(String endpointName, String methodName,
+            EndpointInvocationPlan invocationPlan, int requestParameterCount)
+            throws EndpointBadRequestException {
+        if (invocationPlan.getParameterCount() != requestParameterCount) {
+            throw new EndpointBadRequestException(String.format(
+                    "Incorrect number of parameters for endpoint '%s' method '%s', "
+                            + "expected: %s, got: %s",
+                    endpointName, methodName,
+                    invocationPlan.getParameterCount(),
+                    requestParameterCount));
+        }
+    }
+
+    private Object[] readVaadinEndpointParameters(InputStream body,
+            EndpointInvocationPlan invocationPlan, String methodName,
+            String endpointName) throws EndpointBadRequestException {
+        Object[] endpointParameters = new Object[invocationPlan
+                .getParameterCount()];
+        Map<String, String> errorParams = new HashMap<>();
+        Set<ConstraintViolation<Object>> constraintViolations = new LinkedHashSet<>();
+        int requestParameterCount = 0;
+
+        try (JsonParser parser = endpointMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token != null && token != JsonToken.VALUE_NULL) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new EndpointBadRequestException(String.format(
+                            "Request body for endpoint '%s' method '%s' "
+                                    + "must be a JSON object",
+                            endpointName, methodName));
+                }
+                JsonStreamContext parametersContext = parser
+                        .getParsingContext();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String parameterName = parser.currentName();
+                    parser.nextToken();
+                    int i = requestParameterCount++;
+                    if (i >= endpointParameters.length) {
+                        // Only counted, to report the mismatch below
+                        parser.skipChildren();
+                        continue;
+                    }
+                    try {
+                        Object parameter = invocationPlan.getParameterReader(i)
+                                .readValue(parser);
+                        endpointParameters[i] = parameter;
+
+                        if (parameter != null) {
+                            constraintViolations
+                                    .addAll(validateBean(parameter));
+                        }
+                    } catch (JsonProcessingException e) {
+                        String typeName = invocationPlan.getParameterType(i)
+                                .getTypeName();
+                        getLogger().error(
+                                "Unable to deserialize an endpoint '{}' method '{}' "
+                                        + "parameter '{}' with type '{}'",
+                                endpointName, methodName, parameterName,
+                                typeName, e);
+                        errorParams.put(parameterName, typeName);
+                        // Skip the rest of the failed value, so that the
+                        // remaining parameters can still be read
+                        while (parser.getParsingContext() != parametersContext) {
+                            if (parser.nextToken() == null) {
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            getLogger().debug(
+                    "Unable to read the request body for endpoint '{}' method '{}'",
+                    endpointName, methodName, e);
+            throw new EndpointBadRequestException(String.format(
+                    "Unable to read the request body for endpoint '%s' method '%s'",
+                    endpointName, methodName));
+        }
+
+        checkParameterCount(endpointName, methodName, invocationPlan,
+                requestParameterCount);
+        if (errorParams.isEmpty() && constraintViolations.isEmpty()) {
+            return endpointParameters;
+        }
+        throw getInvalidEndpointParametersException(methodName, endpointName,
+                errorParams, constraintViolations);
+    }
+
     private Object[] getVaadinEndpointParameters(
-            Map<String, JsonNode> requestParameters, Type[] javaParameters,
-            String methodName, String endpointName) {
-        Object[] endpointParameters = new Object[javaParameters.length];
+            Map<String, JsonNode> requestParameters,
+            EndpointInvocationPlan invocationPlan, String methodName,
+            String endpointName) {
+        Object[] endpointParameters = new Object[invocationPlan
+                .getParameterCount()];
         String[] parameterNames = new String[requestParameters.size()];
         requestParameters.keySet().toArray(parameterNames);
         Map<String, String> errorParams = new HashMap<>();
         Set<ConstraintViolation<Object>> constraintViolations = new LinkedHashSet<>();
 
-        for (int i = 0; i < javaParameters.length; i++) {
-            Type parameterType = javaParameters[i];
-            Type incomingType = parameterType;
+        for (int i = 0; i < endpointParameters.length; i++) {
+            Type parameterType = invocationPlan.getParameterType(i);
             try {
-                Object parameter = endpointMapper
-                        .readerFor(endpointMapper.getTypeFactory()
-                                .constructType(incomingType))
+                Object parameter = invocationPlan.getParameterReader(i)
                         .readValue(requestParameters.get(parameterNames[i]));
                 endpointParameters[i] = parameter;
 
                 if (parameter != null) {
-                    constraintViolations.addAll(validator.validate(parameter));
+                    constraintViolations.addAll(validateBean(parameter));
                 }
             } catch (IOException e) {
                 String typeName = parameterType.getTypeName();
@@ -381,25 +757,18 @@ public class EndpointInvoker {
         }
     }
 
-    private Object invokeVaadinEndpointMethod(String endpointName,
-            String methodName, Method methodToInvoke, ObjectNode body,
-            VaadinEndpointData vaadinEndpointData, Principal principal,
+    private void checkAccess(String endpointName, String methodName,
+            EndpointInvocationPlan invocationPlan, Principal principal,
             Function<String, Boolean> rolesChecker)
-            throws EndpointAccessDeniedException, EndpointBadRequestException,
-            EndpointInternalException {
-        HillaStats.reportEndpointActive();
+            throws EndpointAccessDeniedException {
         EndpointAccessChecker accessChecker = getAccessChecker();
-
-        var methodDeclaringClass = methodToInvoke.getDeclaringClass();
-        var invokedEndpointClass = ClassUtils
-                .getUserClass(vaadinEndpointData.getEndpointObject());
-
         String checkError;
-        if (methodDeclaringClass.equals(invokedEndpointClass)) {
-            checkError = accessChecker.check(methodToInvoke, principal,
-                    rolesChecker);
+        Class<?> accessCheckClass = invocationPlan.getAccessCheckClass();
+        if (accessCheckClass == null) {
+            checkError = accessChecker.check(invocationPlan.getMethod(),
+                    principal, rolesChecker);
         } else {
-            checkError = accessChecker.check(invokedEndpointClass, principal,
+            checkError = accessChecker.check(accessCheckClass, principal,
                     rolesChecker);
         }
         if (checkError != null) {
@@ -407,25 +776,28 @@ public class EndpointInvoker {
                     "Endpoint '%s' method '%s' request cannot be accessed, reason: '%s'",
                     endpointName, methodName, checkError));
         }
+    }
 
-        Map<String, JsonNode> requestParameters = getRequestParameters(body);
-        Type[] javaParameters = getJavaParameters(methodToInvoke, ClassUtils
-                .getUserClass(vaadinEndpointData.getEndpointObject()));
-        if (javaParameters.length != requestParameters.size()) {
-            throw new EndpointBadRequestException(String.format(
-                    "Incorrect number of parameters for endpoint '%s' method '%s', "
-                            + "expected: %s, got: %s",
-                    endpointName, methodName, javaParameters.length,
-                    requestParameters.size()));
-        }
+    private Object invokeVaadinEndpointMethod(String endpointName,
+            String methodName, EndpointInvocationPlan invocationPlan,
+            VaadinEndpointData vaadinEndpointData, Principal principal,
+            Function<String, Boolean> rolesChecker,
+            EndpointParametersReader parametersReader)
+            throws EndpointAccessDeniedException, EndpointBadRequestException,
+            EndpointInternalException {
+        HillaStats.reportEndpointActive();
+        Method methodToInvoke = invocationPlan.getMethod();
+        checkAccess(endpointName, methodName, invocationPlan, principal,
+                rolesChecker);
 
-        Object[] vaadinEndpointParameters = getVaadinEndpointParameters(
-                requestParameters, javaParameters, methodName, endpointName);
+        Object[] vaadinEndpointParameters = parametersReader.read();
 
-        Set<ConstraintViolation<Object>> methodParameterConstraintViolations = validator
-                .forExecutables()
-                .validateParameters(vaadinEndpointData.getEndpointObject(),
-                        methodToInvoke, vaadinEndpointParameters);
+        Set<ConstraintViolation<Object>> methodParameterConstraintViolations = invocationPlan
+                .hasConstrainedParameters()
+                        ? validator.forExecutables().validateParameters(
+                                vaadinEndpointData.getEndpointObject(),
+                                methodToInvoke, vaadinEndpointParameters)
+                        : Collections.emptySet();
         if (!methodParameterConstraintViolations.isEmpty()) {
             throw new EndpointValidationException(
                     String.format(
@@ -437,15 +809,14 @@ public class EndpointInvoker {
 
         Object returnValue;
         try {
-            returnValue = methodToInvoke.invoke(
-                    vaadinEndpointData.getEndpointObject(),
-                    vaadinEndpointParameters);
+            returnValue = invocationPlan.invoke(vaadinEndpointParameters);
         } catch (IllegalArgumentException e) {
             String errorMessage = String.format(
                     "Received incorrect arguments for endpoint '%s' method '%s'. "
                             + "Expected parameter types (and their order) are: '[%s]'",
                     endpointName, methodName,
-                    listMethodParameterTypes(javaParameters));
+                    listMethodParameterTypes(
+                            invocationPlan.getParameterTypes()));
             getLogger().debug(errorMessage, e);
             throw new EndpointBadRequestException(errorMessage);
         } catch (IllegalAccessException e) {
@@ -458,10 +829,69 @@ public class EndpointInvoker {
             return handleMethodExecutionError(endpointName, methodName, e);
         }
 
-        String implicitNullError = this.explicitNullableTypeChecker
-                .checkValueForAnnotatedElement(returnValue, methodToInvoke,
-                        isNonNullApi(methodToInvoke.getDeclaringClass()
-                                .getPackage()));
+        String implicitNullError = invocationPlan.isReturnValueChecked()
+                && invocationPlan
+                        .sampleReturnValueCheck(nullCheckSamplingInterval)
+                                ? checkReturnValue(returnValue, invocationPlan)
+                                : null;
+        checkReturnValueErrors(endpointName, methodName, implicitNullError,
+                returnValue, invocationPlan, vaadinEndpointData);
+
+        return returnValue;
+    }
+
+    /**
+     * Checks the value that a {@link java.util.concurrent.CompletionStage} or
+     * a {@link reactor.core.publisher.Mono} returned by the given endpoint
+     * method resolved to, the same way a value returned directly by an
+     * endpoint method is checked: for unexpected null values, using the type
+     * of the resolved value, and against the Bean Validation constraints of
+     * the method return value. An empty {@code Mono} resolves to
+     * {@code null}.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method in the endpoint
+     * @param resolvedValue
+     *            the resolved value
+     * @throws EndpointInternalException
+     *             if the value is an unexpected null value or has validation
+     *             errors
+     */
+    void checkResolvedValue(String endpointName, String methodName,
+            Object resolvedValue) throws EndpointInternalException {
+        VaadinEndpointData vaadinEndpointData = endpointRegistry
+                .get(endpointName);
+        EndpointInvocationPlan invocationPlan = vaadinEndpointData == null
+                ? null
+                : vaadinEndpointData.getInvocationPlan(methodName)
+                        .orElse(null);
+        if (invocationPlan == null
+                || invocationPlan.getResolvedValueType() == null) {
+            return;
+        }
+
+        String implicitNullError = invocationPlan.isResolvedValueRequired()
+                && invocationPlan
+                        .sampleReturnValueCheck(nullCheckSamplingInterval)
+                                ? explicitNullableTypeChecker.checkValueForType(
+                                        resolvedValue,
+                                        invocationPlan.getResolvedValueType(),
+                                        invocationPlan.isNonNullApi(),
+                                        // Bean properties are otherwise
+                                        // checked by the return value writer
+                                        !fusedNullCheck)
+                                : null;
+        checkReturnValueErrors(endpointName, methodName, implicitNullError,
+                resolvedValue, invocationPlan, vaadinEndpointData);
+    }
+
+    private void checkReturnValueErrors(String endpointName,
+            String methodName, String implicitNullError, Object returnValue,
+            EndpointInvocationPlan invocationPlan,
+            VaadinEndpointData vaadinEndpointData)
+            throws EndpointInternalException {
         if (implicitNullError != null) {
             String errorMessage = String.format(
                     "Unexpected return value in endpoint '%s' method '%s'. %s",
@@ -470,24 +900,18 @@ public class EndpointInvoker {
             throw new EndpointInternalException(errorMessage);
         }
 
-        Set<ConstraintViolation<Object>> returnValueConstraintViolations = validator
-                .forExecutables()
-                .validateReturnValue(vaadinEndpointData.getEndpointObject(),
-                        methodToInvoke, returnValue);
+        Set<ConstraintViolation<Object>> returnValueConstraintViolations = invocationPlan
+                .hasConstrainedReturnValue()
+                        ? validator.forExecutables().validateReturnValue(
+                                vaadinEndpointData.getEndpointObject(),
+                                invocationPlan.getMethod(), returnValue)
+                        : Collections.emptySet();
         if (!returnValueConstraintViolations.isEmpty()) {
             String errorMessage = String.format(
                     "Endpoint '%s' method '%s' returned a value that has validation errors: '%s'",
                     endpointName, methodName, returnValueConstraintViolations);
             throw new EndpointInternalException(errorMessage);
         }
-
-        return returnValue;
-    }
-
-    private boolean isNonNullApi(Package pkg) {
-        return Stream.of(pkg.getAnnotations())
-                .anyMatch(ann -> ann.annotationType().getSimpleName()
-                        .equals(NonNullApi.class.getSimpleName()));
     }
 
     private String listMethodParameterTypes(Type[] javaParameters) {
@@ -495,6 +919,14 @@ public class EndpointInvoker {
                 .collect(Collectors.joining(", "));
     }
 
+    /**
+     * Reads the parameters of an endpoint method call from the request.
+     */
+    @FunctionalInterface
+    private interface EndpointParametersReader {
+        Object[] read() throws EndpointBadRequestException;
+    }
+
     private static class VaadinConnectAccessCheckerWrapper {
         private final EndpointAccessChecker accessChecker;
 
@@ -29,6 +29,51 @@ public class EndpointProperties {
     @Value("${vaadin.endpoint.prefix:/connect}")
     private String endpointPrefix;
 
+    @Value("${vaadin.endpoint.async-execution:false}")
+    private boolean asyncExecution;
+
+    @Value("${vaadin.endpoint.async-execution-max-threads:200}")
+    private int asyncExecutionMaxThreads;
+
+    @Value("${vaadin.endpoint.async-execution-queue-capacity:1000}")
+    private int asyncExecutionQueueCapacity;
+
+    @Value("${vaadin.endpoint.async-timeout:-1}")
+    private long asyncTimeout;
+
+    @Value("${vaadin.endpoint.batch-max-calls:100}")
+    private int batchMaxCalls;
+
+    @Value("${vaadin.endpoint.batch-max-parallel-calls:8}")
+    private int batchMaxParallelCalls;
+
+    @Value("${vaadin.endpoint.null-check-sampling-interval:1}")
+    private int nullCheckSamplingInterval;
+
+    @Value("${vaadin.endpoint.fused-null-check:false}")
+    private boolean fusedNullCheck;
+
+    @Value("${vaadin.endpoint.push-batch-max-updates:1}")
+    private int pushBatchMaxUpdates;
+
+    @Value("${vaadin.endpoint.push-batch-max-delay:10}")
+    private long pushBatchMaxDelay;
+
+    @Value("${vaadin.endpoint.push-binary-formats:false}")
+    private boolean pushBinaryFormats;
+
+    @Value("${vaadin.endpoint.push-heartbeat-interval:0}")
+    private long pushHeartbeatInterval;
+
+    @Value("${vaadin.endpoint.push-idle-timeout:90000}")
+    private long pushIdleTimeout;
+
+    @Value("${vaadin.endpoint.push-max-subscriptions-per-connection:0}")
+    private int pushMaxSubscriptionsPerConnection;
+
+    @Value("${vaadin.endpoint.push-max-connections-per-session:0}")
+    private int pushMaxConnectionsPerSession;
+
     /**
      * Customize the prefix for all Vaadin endpoints. See default value in the
      * {@link EndpointProperties#endpointPrefix} field annotation.
@@ -39,4 +84,185 @@ public class EndpointProperties {
         return endpointPrefix;
     }
 
+    /**
+     * Whether endpoint methods are run asynchronously, in a virtual thread if
+     * supported by the JVM, instead of in the servlet container thread. The
+     * request is then processed using servlet async support, with the timeout
+     * of {@link #getAsyncTimeout()}. Disabled by default.
+     *
+     * @return {@code true} if asynchronous execution is enabled
+     */
+    public boolean isAsyncExecution() {
+        return asyncExecution;
+    }
+
+    /**
+     * The maximum number of platform threads running endpoint calls when
+     * asynchronous execution is enabled and the JVM does not support virtual
+     * threads. Defaults to 200.
+     *
+     * @return the maximum number of asynchronous execution threads
+     */
+    public int getAsyncExecutionMaxThreads() {
+        return asyncExecutionMaxThreads;
+    }
+
+    /**
+     * The maximum number of endpoint calls waiting for a platform thread when
+     * all the {@link #getAsyncExecutionMaxThreads()} threads are busy. Calls
+     * exceeding the capacity are answered with a 503 Service Unavailable
+     * response. Defaults to 1000.
+     *
+     * @return the capacity of the asynchronous execution queue
+     */
+    public int getAsyncExecutionQueueCapacity() {
+        return asyncExecutionQueueCapacity;
+    }
+
+    /**
+     * The timeout, in milliseconds, of endpoint requests processed using
+     * servlet async support, such as calls of methods returning a
+     * {@code CompletionStage} or a {@code Mono}, or all calls when
+     * asynchronous execution is enabled. Defaults to {@code -1}, which means
+     * no timeout, like for synchronously processed requests; {@code 0} uses
+     * the Spring MVC async request timeout.
+     *
+     * @return the asynchronous request timeout in milliseconds
+     */
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    /**
+     * The maximum number of calls in one endpoint batch request. Larger
+     * batches are rejected with a 400 Bad Request response. Defaults to 100.
+     *
+     * @return the maximum number of calls per batch
+     */
+    public int getBatchMaxCalls() {
+        return batchMaxCalls;
+    }
+
+    /**
+     * The maximum number of calls of one endpoint batch request that run at
+     * the same time when asynchronous execution is enabled. Defaults to 8.
+     *
+     * @return the maximum number of parallel calls per batch
+     */
+    public int getBatchMaxParallelCalls() {
+        return batchMaxParallelCalls;
+    }
+
+    /**
+     * How often the return values of each endpoint method are checked for
+     * unexpected null values. With the default value of 1, every return value
+     * is checked; with a value of N, only one of every N calls of a method is
+     * checked. Intended for production, where the check has already been
+     * exercised during development and its cost can be reduced on methods
+     * returning large object graphs. A warning is logged at startup when
+     * sampling is enabled. Methods returning primitive values or
+     * {@code void} are never checked, as their return values cannot be
+     * unexpected nulls.
+     *
+     * @return the null check sampling interval
+     */
+    public int getNullCheckSamplingInterval() {
+        return nullCheckSamplingInterval;
+    }
+
+    /**
+     * Whether the properties of Java beans returned by endpoint methods are
+     * checked for unexpected null values while the return value is
+     * serialized, instead of in a separate traversal of the return value
+     * before serialization. Properties are then checked based on the runtime
+     * type of the beans. Disabled by default.
+     *
+     * @return {@code true} if the null check is done during serialization
+     */
+    public boolean isFusedNullCheck() {
+        return fusedNullCheck;
+    }
+
+    /**
+     * The maximum number of Flux updates sent in one push message. When
+     * greater than 1, the updates of all subscriptions of a push connection
+     * are collected and sent together, which reduces the number of writes and
+     * websocket frames for bursty updates. The default value of 1 sends every
+     * update in its own message.
+     *
+     * @return the maximum number of updates in a batch
+     */
+    public int getPushBatchMaxUpdates() {
+        return pushBatchMaxUpdates;
+    }
+
+    /**
+     * The maximum time, in milliseconds, that a Flux update waits for other
+     * updates before it is sent, when push batching is enabled using
+     * {@link #getPushBatchMaxUpdates()}. Defaults to 10.
+     *
+     * @return the maximum batching delay in milliseconds
+     */
+    public long getPushBatchMaxDelay() {
+        return pushBatchMaxDelay;
+    }
+
+    /**
+     * Whether push clients can request a binary message format, such as CBOR,
+     * for websocket connections. Disabled by default, as the TypeScript client
+     * only supports JSON: enable it only for custom clients that decode the
+     * requested format. Clients are told which format is used for their
+     * connection.
+     *
+     * @return {@code true} if binary push message formats are allowed
+     */
+    public boolean isPushBinaryFormats() {
+        return pushBinaryFormats;
+    }
+
+    /**
+     * The interval, in milliseconds, at which idle push connections are
+     * pinged, and connections that have been idle for longer than
+     * {@link #getPushIdleTimeout()} are closed. Defaults to {@code 0}, which
+     * disables the heartbeat.
+     *
+     * @return the heartbeat interval in milliseconds
+     */
+    public long getPushHeartbeatInterval() {
+        return pushHeartbeatInterval;
+    }
+
+    /**
+     * The time, in milliseconds, after which a push connection that has not
+     * received any message, including replies to the heartbeat pings, is
+     * considered dead and closed, when the heartbeat is enabled using
+     * {@link #getPushHeartbeatInterval()}. The timeout is at least twice the
+     * heartbeat interval. Defaults to 90000.
+     *
+     * @return the idle timeout in milliseconds
+     */
+    public long getPushIdleTimeout() {
+        return pushIdleTimeout;
+    }
+
+    /**
+     * The maximum number of active subscriptions in one push connection.
+     * Defaults to {@code 0}, which means no limit.
+     *
+     * @return the maximum number of subscriptions per connection
+     */
+    public int getPushMaxSubscriptionsPerConnection() {
+        return pushMaxSubscriptionsPerConnection;
+    }
+
+    /**
+     * The maximum number of open push connections of one HTTP session.
+     * Defaults to {@code 0}, which means no limit.
+     *
+     * @return the maximum number of connections per session
+     */
+    public int getPushMaxConnectionsPerSession() {
+        return pushMaxConnectionsPerSession;
+    }
+
 }
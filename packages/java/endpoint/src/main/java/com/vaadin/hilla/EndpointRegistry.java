@@ -17,10 +17,12 @@ package com.vaadin.hilla;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Locale;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -40,18 +42,30 @@ public class EndpointRegistry {
      * Tracks methods inside a given endpoint class.
      */
     public static class VaadinEndpointData {
-        final Map<String, Method> methods = new HashMap<>();
+        final Map<String, Method> methods;
+        final Map<String, EndpointInvocationPlan> invocationPlans;
         private final Object vaadinEndpointObject;
 
         private VaadinEndpointData(Object vaadinEndpointObject,
+                BiFunction<Object, Method, EndpointInvocationPlan> invocationPlanFactory,
                 Method... endpointMethods) {
             this.vaadinEndpointObject = vaadinEndpointObject;
+            var endpointMethodsByName = new LinkedHashMap<String, Method>();
+            var plansByName = new LinkedHashMap<String, EndpointInvocationPlan>();
             Stream.of(endpointMethods)
                     .filter(method -> method.getDeclaringClass() != Object.class
                             && !method.isBridge())
-                    .forEach(method -> methods.put(
-                            method.getName().toLowerCase(Locale.ENGLISH),
-                            method));
+                    .forEach(method -> {
+                        endpointMethodsByName.put(method.getName(), method);
+                        if (invocationPlanFactory != null) {
+                            plansByName.put(method.getName(),
+                                    invocationPlanFactory
+                                            .apply(vaadinEndpointObject,
+                                                    method));
+                        }
+                    });
+            methods = AsciiCaseInsensitiveMap.of(endpointMethodsByName);
+            invocationPlans = AsciiCaseInsensitiveMap.of(plansByName);
         }
 
         /**
@@ -63,8 +77,19 @@ public class EndpointRegistry {
          *         optional if no method was found
          */
         public Optional<Method> getMethod(String methodName) {
-            return Optional.ofNullable(
-                    methods.get(methodName.toLowerCase(Locale.ENGLISH)));
+            return Optional.ofNullable(methods.get(methodName));
+        }
+
+        /**
+         * Finds the invocation plan of the method with the given name.
+         *
+         * @param methodName
+         *            the name to look for
+         * @return An optional containing the invocation plan or an empty
+         *         optional if no plan was created for the method
+         */
+        Optional<EndpointInvocationPlan> getInvocationPlan(String methodName) {
+            return Optional.ofNullable(invocationPlans.get(methodName));
         }
 
         public Object getEndpointObject() {
@@ -73,7 +98,11 @@ public class EndpointRegistry {
     }
 
     private final EndpointNameChecker endpointNameChecker;
-    private final Map<String, VaadinEndpointData> vaadinEndpoints = new HashMap<>();
+    // Replaced as a whole on every registration, so that concurrent lookups
+    // always see a complete snapshot
+    private volatile Map<String, VaadinEndpointData> vaadinEndpoints = AsciiCaseInsensitiveMap
+            .of(Map.of());
+    private BiFunction<Object, Method, EndpointInvocationPlan> invocationPlanFactory;
 
     /**
      * Creates a new registry using the given name checker.
@@ -94,6 +123,29 @@ public class EndpointRegistry {
     }
 
     void registerEndpoint(Object endpointBean) {
+        registerEndpoints(List.of(endpointBean));
+    }
+
+    /**
+     * Registers the given endpoints, replacing any registered endpoint with
+     * the same name. The endpoints become visible to lookups all at once.
+     *
+     * @param endpointBeans
+     *            the endpoint instances to register
+     */
+    synchronized void registerEndpoints(Collection<?> endpointBeans) {
+        var endpoints = new LinkedHashMap<>(vaadinEndpoints);
+        for (Object endpointBean : endpointBeans) {
+            String endpointName = getValidEndpointName(endpointBean);
+            endpoints.put(endpointName, createEndpointData(endpointBean));
+            LOGGER.debug("Registered endpoint '{}' with class '{}'",
+                    endpointName,
+                    ClassUtils.getUserClass(endpointBean.getClass()));
+        }
+        vaadinEndpoints = AsciiCaseInsensitiveMap.of(endpoints);
+    }
+
+    private String getValidEndpointName(Object endpointBean) {
         // Check the bean type instead of the implementation type in
         // case of e.g. proxies
         Class<?> beanType = ClassUtils.getUserClass(endpointBean.getClass());
@@ -117,17 +169,32 @@ public class EndpointRegistry {
                             endpointName, validationError));
         }
 
-        Method[] endpointPublicMethods = beanType.getMethods();
+        return endpointName;
+    }
+
+    private VaadinEndpointData createEndpointData(Object endpointBean) {
+        Method[] endpointPublicMethods = ClassUtils
+                .getUserClass(endpointBean.getClass()).getMethods();
         AccessibleObject.setAccessible(endpointPublicMethods, true);
+        return new VaadinEndpointData(endpointBean, invocationPlanFactory,
+                endpointPublicMethods);
+    }
 
-        vaadinEndpoints.put(endpointName.toLowerCase(Locale.ENGLISH),
-                new VaadinEndpointData(endpointBean, endpointPublicMethods));
-        LOGGER.debug("Registered endpoint '{}' with class '{}'", endpointName,
-                beanType);
+    /**
+     * Sets the factory used to create the invocation plan of each endpoint
+     * method when the endpoint is registered.
+     *
+     * @param invocationPlanFactory
+     *            a function creating the plan from the endpoint object and the
+     *            method
+     */
+    void setInvocationPlanFactory(
+            BiFunction<Object, Method, EndpointInvocationPlan> invocationPlanFactory) {
+        this.invocationPlanFactory = invocationPlanFactory;
     }
 
     VaadinEndpointData get(String endpointName) {
-        return vaadinEndpoints.get(endpointName.toLowerCase(Locale.ENGLISH));
+        return vaadinEndpoints.get(endpointName);
     }
 
     boolean isEmpty() {
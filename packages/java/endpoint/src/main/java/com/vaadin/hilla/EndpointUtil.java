@@ -18,7 +18,6 @@ package com.vaadin.hilla;
 import jakarta.servlet.http.HttpServletRequest;
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.Optional;
 
 import com.vaadin.flow.internal.hilla.EndpointRequestUtil;
 import com.vaadin.hilla.auth.EndpointAccessChecker;
@@ -46,12 +45,14 @@ public class EndpointUtil implements EndpointRequestUtil {
     @Autowired
     private EndpointAccessChecker accessChecker;
 
+    private volatile EndpointPaths endpointPaths;
+
     /**
      * Checks if the request is for an endpoint.
      * <p>
      * Note even if this method returns <code>true</code>, there is no guarantee
      * that an endpoint method will actually be called, e.g. access might be
-     * denied.
+     * denied. Batch requests are endpoint requests as well.
      *
      * @param request
      *            the HTTP request
@@ -60,15 +61,21 @@ public class EndpointUtil implements EndpointRequestUtil {
      */
     @Override
     public boolean isEndpointRequest(HttpServletRequest request) {
-        return getEndpoint(request).isPresent();
-    }
-
-    private Optional<Method> getEndpoint(HttpServletRequest request) {
-        return getEndpointData(request).map(EndpointData::method);
+        PathContainer path = getPathWithinEndpointPrefix(request);
+        if (path == null) {
+            return false;
+        }
+        return getEndpointData(path) != null
+                || getEndpointPaths().batchPattern.matches(path);
     }
 
     /**
      * Checks if the given request goes to an anonymous (public) endpoint.
+     * <p>
+     * Batch requests are always considered anonymous, so that anonymous users
+     * can batch calls of anonymous endpoint methods: the access to each call
+     * of a batch is checked separately, in the same way as for a single call,
+     * and calls that are not allowed fail individually.
      *
      * @param request
      *            the HTTP request to check
@@ -77,56 +84,105 @@ public class EndpointUtil implements EndpointRequestUtil {
      */
     @Override
     public boolean isAnonymousEndpoint(HttpServletRequest request) {
-        var endpointData = getEndpointData(request);
-        if (endpointData.isEmpty()) {
+        PathContainer path = getPathWithinEndpointPrefix(request);
+        if (path == null) {
             return false;
         }
+        EndpointData endpointData = getEndpointData(path);
+        if (endpointData == null) {
+            return getEndpointPaths().batchPattern.matches(path);
+        }
         var invokedEndpointClass = ClassUtils
-                .getUserClass(endpointData.get().endpointObject());
-        var methodDeclaringClass = endpointData.get().method()
-                .getDeclaringClass();
+                .getUserClass(endpointData.endpointObject());
+        var methodDeclaringClass = endpointData.method().getDeclaringClass();
         if (methodDeclaringClass.equals(invokedEndpointClass)) {
-            return accessChecker.getAccessAnnotationChecker().hasAccess(
-                    endpointData.get().method(), null, role -> false);
+            return accessChecker.isAnonymousAllowed(endpointData.method());
         } else {
-            return accessChecker.getAccessAnnotationChecker()
-                    .hasAccess(invokedEndpointClass, null, role -> false);
+            return accessChecker.isAnonymousAllowed(invokedEndpointClass);
         }
     }
 
-    private Optional<PathPattern.PathMatchInfo> getPathMatchInfo(
+    /**
+     * Gets the path of the request within the application, or {@code null} if
+     * the request URI does not start with the endpoint prefix. The prefix check
+     * is done on the raw URI, so that requests for other resources are
+     * rejected without parsing their path. URIs containing percent-encoded
+     * characters are always parsed, so that they are matched against the
+     * endpoint patterns after decoding, like any other request.
+     */
+    private PathContainer getPathWithinEndpointPrefix(
             HttpServletRequest request) {
-        PathPatternParser pathParser = new PathPatternParser();
-        PathPattern pathPattern = pathParser
-                .parse(endpointProperties.getEndpointPrefix()
-                        + EndpointController.ENDPOINT_METHODS);
-
-        RequestPath requestPath = RequestPath.parse(request.getRequestURI(),
-                request.getContextPath());
-        PathContainer pathWithinApplication = requestPath
+        String requestUri = request.getRequestURI();
+        if (requestUri == null) {
+            return null;
+        }
+        String contextPath = request.getContextPath();
+        if (contextPath == null) {
+            contextPath = "";
+        }
+        String literalPrefix = getEndpointPaths().literalPrefix;
+        if (!requestUri.startsWith(contextPath)) {
+            return null;
+        }
+        if (literalPrefix != null
+                && !requestUri.startsWith(literalPrefix, contextPath.length())
+                && requestUri.indexOf('%', contextPath.length()) < 0) {
+            return null;
+        }
+
+        return RequestPath.parse(requestUri, contextPath)
                 .pathWithinApplication();
-        PathPattern.PathMatchInfo matchInfo = pathPattern
-                .matchAndExtract(pathWithinApplication);
-        return Optional.ofNullable(matchInfo);
     }
 
-    private Optional<EndpointData> getEndpointData(HttpServletRequest request) {
-        Optional<PathPattern.PathMatchInfo> matchInfo = getPathMatchInfo(
-                request);
-        if (matchInfo.isEmpty()) {
-            return Optional.empty();
+    private EndpointData getEndpointData(PathContainer path) {
+        PathPattern.PathMatchInfo matchInfo = getEndpointPaths().methodsPattern
+                .matchAndExtract(path);
+        if (matchInfo == null) {
+            return null;
         }
 
-        Map<String, String> uriVariables = matchInfo.get().getUriVariables();
-        String endpointName = uriVariables.get("endpoint");
-        String methodName = uriVariables.get("method");
-        EndpointRegistry.VaadinEndpointData data = registry.get(endpointName);
+        Map<String, String> uriVariables = matchInfo.getUriVariables();
+        EndpointRegistry.VaadinEndpointData data = registry
+                .get(uriVariables.get("endpoint"));
         if (data == null) {
-            return Optional.empty();
+            return null;
+        }
+        return data.getMethod(uriVariables.get("method"))
+                .map(method -> new EndpointData(method,
+                        data.getEndpointObject()))
+                .orElse(null);
+    }
+
+    private EndpointPaths getEndpointPaths() {
+        EndpointPaths paths = endpointPaths;
+        if (paths == null) {
+            // The prefix is fixed once the application is configured
+            paths = new EndpointPaths(endpointProperties.getEndpointPrefix());
+            endpointPaths = paths;
+        }
+        return paths;
+    }
+
+    /**
+     * The endpoint path patterns, parsed once for the configured prefix.
+     */
+    private static final class EndpointPaths {
+        private final String literalPrefix;
+        private final PathPattern methodsPattern;
+        private final PathPattern batchPattern;
+
+        private EndpointPaths(String endpointPrefix) {
+            PathPatternParser pathParser = new PathPatternParser();
+            methodsPattern = pathParser
+                    .parse(endpointPrefix + EndpointController.ENDPOINT_METHODS);
+            batchPattern = pathParser
+                    .parse(endpointPrefix + EndpointController.ENDPOINT_BATCH);
+            // The quick prefix check is only possible if the prefix does not
+            // contain any pattern syntax
+            literalPrefix = endpointPrefix.matches("[^{}*?]*")
+                    ? endpointPrefix
+                    : null;
         }
-        Optional<Method> endpointMethod = data.getMethod(methodName);
-        return endpointMethod.map(
-                method -> new EndpointData(method, data.getEndpointObject()));
     }
 
     private record EndpointData(Method method, Object endpointObject) {
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Checks the properties of Java beans for unexpected null values while they
+ * are serialized, so that endpoint return values do not need to be traversed
+ * twice.
+ * <p>
+ * The properties are checked using the same rules as
+ * {@link ExplicitNullableTypeChecker}, but only when the value is written by a
+ * writer that has the {@link #REQUIRED_BY_CONTEXT} attribute, so that other
+ * values written with the same mapper are not affected. Null values are
+ * checked by the null serializer of the property, and the items of
+ * collections, arrays and maps by a serializer that wraps the one Jackson
+ * finds for the value.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+final class ExplicitNullableBeanSerializerModifier
+        extends BeanSerializerModifier {
+
+    /**
+     * The serialization attribute that enables the check. Its value is a
+     * {@link Boolean} telling whether the context (such as a
+     * {@link org.springframework.lang.NonNullApi} package) defines that values
+     * are required.
+     */
+    static final String REQUIRED_BY_CONTEXT = ExplicitNullableBeanSerializerModifier.class
+            .getName() + ".requiredByContext";
+
+    /**
+     * Creates a Jackson module that registers the modifier.
+     *
+     * @return the module
+     */
+    static Module createModule() {
+        return new SimpleModule(
+                ExplicitNullableBeanSerializerModifier.class.getSimpleName())
+                .setSerializerModifier(
+                        new ExplicitNullableBeanSerializerModifier());
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+            BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+        Class<?> beanClass = beanDesc.getBeanClass();
+        if (beanClass.getName().startsWith("java.")) {
+            return beanProperties;
+        }
+
+        for (BeanPropertyWriter writer : beanProperties) {
+            if (!(writer.getMember() instanceof AnnotatedMethod)) {
+                continue;
+            }
+            Method readMethod = ((AnnotatedMethod) writer.getMember())
+                    .getAnnotated();
+            Type requiredByContextType = ExplicitNullableTypeCheckerHelper
+                    .getCheckedPropertyType(beanClass, readMethod, true);
+            Type notRequiredByContextType = ExplicitNullableTypeCheckerHelper
+                    .getCheckedPropertyType(beanClass, readMethod, false);
+            if (requiredByContextType == null
+                    && notRequiredByContextType == null) {
+                continue;
+            }
+            var checker = new PropertyChecker(beanClass, writer.getName(),
+                    requiredByContextType, notRequiredByContextType);
+            // Properties with their own serializers, such as those annotated
+            // with @JsonSerialize, are written the way those define
+            if (!writer.hasNullSerializer()) {
+                writer.assignNullSerializer(new NullCheckingSerializer(checker));
+            }
+            if (!writer.hasSerializer() && isContainer(writer.getType())) {
+                writer.assignSerializer(
+                        new ItemCheckingSerializer(checker, writer));
+            }
+        }
+        return beanProperties;
+    }
+
+    private static boolean isContainer(JavaType type) {
+        return type.isContainerType()
+                || type.isTypeOrSubTypeOf(Iterable.class);
+    }
+
+    /**
+     * Thrown when a bean property that is not explicitly nullable has a null
+     * value.
+     */
+    static final class UnexpectedNullValueException
+            extends JsonMappingException {
+        private UnexpectedNullValueException(JsonGenerator generator,
+                String message) {
+            super(generator, message);
+        }
+    }
+
+    /**
+     * Checks the values of a bean property, if the writer has the
+     * {@link #REQUIRED_BY_CONTEXT} attribute.
+     */
+    private static final class PropertyChecker {
+        // Does not check bean properties, which leaves it without state, so
+        // it can be shared by all the writes of the property
+        private static final ExplicitNullableTypeCheckerHelper HELPER = new ExplicitNullableTypeCheckerHelper(
+                false, false);
+
+        private final Class<?> beanClass;
+        private final String name;
+        private final Type requiredByContextType;
+        private final Type notRequiredByContextType;
+
+        private PropertyChecker(Class<?> beanClass, String name,
+                Type requiredByContextType, Type notRequiredByContextType) {
+            this.beanClass = beanClass;
+            this.name = name;
+            this.requiredByContextType = requiredByContextType;
+            this.notRequiredByContextType = notRequiredByContextType;
+        }
+
+        private void check(Object value, JsonGenerator gen,
+                SerializerProvider prov) throws JsonMappingException {
+            Object requiredByContext = prov.getAttribute(REQUIRED_BY_CONTEXT);
+            if (!(requiredByContext instanceof Boolean)) {
+                return;
+            }
+            Type type = (Boolean) requiredByContext ? requiredByContextType
+                    : notRequiredByContextType;
+            if (type == null) {
+                return;
+            }
+            String error = HELPER.checkValueForType(value, type);
+            if (error != null) {
+                throw new UnexpectedNullValueException(gen, String.format(
+                        "Unexpected null value in Java "
+                                + "Bean type '%s' property '%s'. %s",
+                        beanClass.getName(), name, error));
+            }
+        }
+    }
+
+    /**
+     * Writes a null property value, unless the property is required.
+     */
+    private static final class NullCheckingSerializer
+            extends StdSerializer<Object> {
+        private final PropertyChecker checker;
+
+        private NullCheckingSerializer(PropertyChecker checker) {
+            super(Object.class);
+            this.checker = checker;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen,
+                SerializerProvider prov) throws IOException {
+            checker.check(null, gen, prov);
+            prov.defaultSerializeNull(gen);
+        }
+    }
+
+    /**
+     * Checks the items of a collection, array or map property value before
+     * writing it with the serializer Jackson finds for the value.
+     */
+    private static final class ItemCheckingSerializer
+            extends StdSerializer<Object> {
+        private final PropertyChecker checker;
+        private final BeanProperty property;
+        private volatile PropertySerializerMap serializers = PropertySerializerMap
+                .emptyForProperties();
+
+        private ItemCheckingSerializer(PropertyChecker checker,
+                BeanProperty property) {
+            super(Object.class);
+            this.checker = checker;
+            this.property = property;
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider prov, Object value) {
+            try {
+                return findSerializer(value, prov).isEmpty(prov, value);
+            } catch (JsonMappingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen,
+                SerializerProvider prov) throws IOException {
+            checker.check(value, gen, prov);
+            findSerializer(value, prov).serialize(value, gen, prov);
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen,
+                SerializerProvider prov, TypeSerializer typeSer)
+                throws IOException {
+            checker.check(value, gen, prov);
+            findSerializer(value, prov).serializeWithType(value, gen, prov,
+                    typeSer);
+        }
+
+        private JsonSerializer<Object> findSerializer(Object value,
+                SerializerProvider prov) throws JsonMappingException {
+            Class<?> type = value.getClass();
+            PropertySerializerMap map = serializers;
+            JsonSerializer<Object> serializer = map.serializerFor(type);
+            if (serializer == null) {
+                PropertySerializerMap.SerializerAndMapResult result = map
+                        .findAndAddPrimarySerializer(type, prov, property);
+                serializers = result.map;
+                serializer = result.serializer;
+            }
+            return serializer;
+        }
+    }
+}
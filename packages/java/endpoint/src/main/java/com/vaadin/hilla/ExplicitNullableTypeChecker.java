@@ -130,9 +130,50 @@ public class ExplicitNullableTypeChecker {
         return null;
     }
 
+    /**
+     * Validates the given value for the given expected method return value
+     * type, without checking the properties of beans. Used when the bean
+     * properties are checked while the value is serialized, see
+     * {@link ExplicitNullableBeanSerializerModifier}.
+     *
+     * @param value
+     *            the value to validate
+     * @param annotatedElement
+     *            the entity to be type checked
+     * @param requiredByContext
+     *            {@code true} if the context defines that the node is required
+     * @param checkBeanProperties
+     *            {@code false} to skip checking the properties of beans
+     * @return error message when the value is null while the expected type does
+     *         not explicitly allow null, or null meaning the value is OK.
+     */
+    public String checkValueForAnnotatedElement(Object value,
+            AnnotatedElement annotatedElement, boolean requiredByContext,
+            boolean checkBeanProperties) {
+        if (checkBeanProperties) {
+            return checkValueForAnnotatedElement(value, annotatedElement,
+                    requiredByContext);
+        }
+        if (!isRequired(annotatedElement, requiredByContext)) {
+            return null;
+        }
+        if (annotatedElement instanceof Method) {
+            return new ExplicitNullableTypeCheckerHelper(requiredByContext,
+                    false).checkValueForType(value,
+                            ((Method) annotatedElement).getGenericReturnType());
+        }
+        return null;
+    }
+
     String checkValueForType(Object value, Type expectedType,
             boolean requiredByContext) {
         return new ExplicitNullableTypeCheckerHelper(requiredByContext)
                 .checkValueForType(value, expectedType);
     }
+
+    String checkValueForType(Object value, Type expectedType,
+            boolean requiredByContext, boolean checkBeanProperties) {
+        return new ExplicitNullableTypeCheckerHelper(requiredByContext,
+                checkBeanProperties).checkValueForType(value, expectedType);
+    }
 }
@@ -26,13 +26,14 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.vaadin.hilla.parser.utils.Generics;
@@ -46,11 +47,21 @@ import static com.vaadin.hilla.ExplicitNullableTypeChecker.isRequired;
  */
 class ExplicitNullableTypeCheckerHelper {
 
+    // The checked properties of bean classes, resolved once per class
+    private static final ClassValue<BeanProperties> BEAN_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected BeanProperties computeValue(Class<?> type) {
+            return new BeanProperties(type);
+        }
+    };
+
     // A map for tracking already visited Beans.
     private Map<Type, Set<Object>> visitedBeans;
 
     private boolean requiredByContext;
 
+    private boolean checkBeanProperties = true;
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(EndpointController.class);
     }
@@ -65,6 +76,55 @@ class ExplicitNullableTypeCheckerHelper {
         this.requiredByContext = requiredByContext;
     }
 
+    /**
+     * Creates a new helper.
+     *
+     * @param requiredByContext
+     *            {@code true} if the context defines that the node is required
+     * @param checkBeanProperties
+     *            {@code false} to only check the items of iterables, arrays
+     *            and maps, leaving the properties of beans to be checked
+     *            during serialization
+     */
+    ExplicitNullableTypeCheckerHelper(boolean requiredByContext,
+            boolean checkBeanProperties) {
+        this.requiredByContext = requiredByContext;
+        this.checkBeanProperties = checkBeanProperties;
+    }
+
+    /**
+     * Gets the declared type of the bean property with the given read method,
+     * if the property is subject for checking.
+     *
+     * @param beanClass
+     *            the bean class
+     * @param readMethod
+     *            the read method of the property
+     * @param requiredByContext
+     *            {@code true} if the context defines that the node is required
+     * @return the generic type of the property, or {@code null} if the
+     *         property is not checked
+     */
+    static Type getCheckedPropertyType(Class<?> beanClass, Method readMethod,
+            boolean requiredByContext) {
+        return BEAN_PROPERTIES.get(beanClass)
+                .getCheckedProperties(requiredByContext).stream()
+                .filter(property -> property.readMethod.equals(readMethod))
+                .map(property -> property.type).findFirst().orElse(null);
+    }
+
+    /**
+     * Forgets the resolved properties of the given bean class, so that they
+     * are resolved again when the class is next checked. Used when the class
+     * has been hot swapped.
+     *
+     * @param beanClass
+     *            the bean class
+     */
+    static void clearBeanProperties(Class<?> beanClass) {
+        BEAN_PROPERTIES.remove(beanClass);
+    }
+
     /**
      * Check if the Bean value and type have been visited.
      */
@@ -203,33 +263,37 @@ class ExplicitNullableTypeCheckerHelper {
     }
 
     private String checkBeanFields(Object value, Type expectedType) {
-        if (hasVisited(value, expectedType)) {
+        if (!checkBeanProperties) {
             return null;
         }
-        markAsVisited(value, expectedType);
         Class<?> clazz = (Class<?>) expectedType;
-        try {
-            for (PropertyDescriptor propertyDescriptor : Introspector
-                    .getBeanInfo(clazz).getPropertyDescriptors()) {
-                if (!isPropertySubjectForChecking(propertyDescriptor)) {
-                    continue;
-                }
+        BeanProperties beanProperties = BEAN_PROPERTIES.get(clazz);
+        if (beanProperties.introspectionError != null) {
+            getLogger().error(
+                    "Cannot check for null property values in Java Bean",
+                    beanProperties.introspectionError);
+            return beanProperties.introspectionError.toString();
+        }
 
-                Method readMethod = propertyDescriptor.getReadMethod();
-                Type propertyType = readMethod.getGenericReturnType();
-                Object propertyValue = readMethod.invoke(value);
+        List<BeanProperty> properties = beanProperties
+                .getCheckedProperties(requiredByContext);
+        if (properties.isEmpty() || hasVisited(value, expectedType)) {
+            return null;
+        }
+        markAsVisited(value, expectedType);
+        try {
+            for (BeanProperty property : properties) {
+                Object propertyValue = property.readMethod.invoke(value);
 
-                String error = checkValueForType(propertyValue, propertyType);
+                String error = checkValueForType(propertyValue, property.type);
                 if (error != null) {
                     return String.format(
                             "Unexpected null value in Java "
                                     + "Bean type '%s' property '%s'. %s",
-                            expectedType.getTypeName(),
-                            propertyDescriptor.getName(), error);
+                            expectedType.getTypeName(), property.name, error);
                 }
             }
-        } catch (IntrospectionException | InvocationTargetException
-                | IllegalAccessException e) {
+        } catch (InvocationTargetException | IllegalAccessException e) {
             getLogger().error(
                     "Cannot check for null property values in Java Bean", e);
             return e.toString();
@@ -238,32 +302,92 @@ class ExplicitNullableTypeCheckerHelper {
         return null;
     }
 
-    private boolean isPropertySubjectForChecking(
-            PropertyDescriptor propertyDescriptor) {
-        try {
+    /**
+     * A bean property that is subject for checking.
+     */
+    private static final class BeanProperty {
+        private final String name;
+        private final Method readMethod;
+        private final Type type;
+
+        private BeanProperty(String name, Method readMethod) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.type = readMethod.getGenericReturnType();
+        }
+    }
+
+    /**
+     * The properties of a bean class that are subject for checking, resolved
+     * once per class for both a required and a non-required context.
+     * Properties of primitive types are left out, as their values cannot be
+     * null.
+     */
+    private static final class BeanProperties {
+        private final List<BeanProperty> requiredByContextProperties;
+        private final List<BeanProperty> notRequiredByContextProperties;
+        private final IntrospectionException introspectionError;
+
+        private BeanProperties(Class<?> clazz) {
+            var requiredByContext = new ArrayList<BeanProperty>();
+            var notRequiredByContext = new ArrayList<BeanProperty>();
+            IntrospectionException error = null;
+            try {
+                for (PropertyDescriptor propertyDescriptor : Introspector
+                        .getBeanInfo(clazz).getPropertyDescriptors()) {
+                    Field field = getCheckedField(propertyDescriptor);
+                    if (field == null || propertyDescriptor.getReadMethod()
+                            .getReturnType().isPrimitive()) {
+                        continue;
+                    }
+
+                    var property = new BeanProperty(
+                            propertyDescriptor.getName(),
+                            propertyDescriptor.getReadMethod());
+                    if (isRequired(field, true)) {
+                        requiredByContext.add(property);
+                    }
+                    if (isRequired(field, false)) {
+                        notRequiredByContext.add(property);
+                    }
+                }
+            } catch (IntrospectionException e) {
+                error = e;
+            }
+            this.requiredByContextProperties = List.copyOf(requiredByContext);
+            this.notRequiredByContextProperties = List
+                    .copyOf(notRequiredByContext);
+            this.introspectionError = error;
+        }
+
+        private List<BeanProperty> getCheckedProperties(
+                boolean requiredByContext) {
+            return requiredByContext ? requiredByContextProperties
+                    : notRequiredByContextProperties;
+        }
+
+        /**
+         * Gets the field backing the property, or {@code null} if the
+         * property is not subject for checking.
+         */
+        private static Field getCheckedField(
+                PropertyDescriptor propertyDescriptor) {
             String name = propertyDescriptor.getName();
             Method readMethod = propertyDescriptor.getReadMethod();
             if (readMethod == null) {
-                return false;
+                return null;
             }
 
-            Class<?> declaringClass = readMethod.getDeclaringClass();
-            final Set<String> declaredFieldNames = Arrays
-                    .stream(declaringClass.getDeclaredFields())
-                    .map(Field::getName).collect(Collectors.toSet());
-            if (!declaredFieldNames.contains(name)) {
-                return false;
+            Field field;
+            try {
+                field = readMethod.getDeclaringClass().getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                return null;
             }
-
-            Field field = readMethod.getDeclaringClass().getDeclaredField(name);
-            return (!Modifier.isStatic(field.getModifiers())
+            boolean checked = !Modifier.isStatic(field.getModifiers())
                     && !Modifier.isTransient(field.getModifiers())
-                    && isRequired(field, requiredByContext)
-                    && !field.isAnnotationPresent(JsonIgnore.class));
-        } catch (NoSuchFieldException e) {
-            getLogger().error("Unexpected missing declared field in Java Bean",
-                    e);
-            return false;
+                    && !field.isAnnotationPresent(JsonIgnore.class);
+            return checked ? field : null;
         }
     }
 
@@ -7,6 +7,8 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.hilla.auth.EndpointAccessChecker;
+
 /**
  * Takes care of updating internals of Hilla that need updates when application
  * classes are updated.
@@ -36,6 +38,11 @@ public class Hotswapper {
             if (isIgnoredClasses(changedClasses)) {
                 return;
             }
+            // Security and validation annotations may have changed in any of
+            // the classes
+            clearAccessRules();
+            clearConstrainedBeanTypes();
+            clearBeanProperties(changedClasses);
             if (affectsEndpoints(changedClasses)) {
                 if (getLogger().isDebugEnabled()) {
                     String changed = List.of(changedClasses).toString();
@@ -50,6 +57,32 @@ public class Hotswapper {
         }
     }
 
+    private static void clearAccessRules() {
+        ApplicationContextProvider.getApplicationContext()
+                .getBeanProvider(EndpointAccessChecker.class)
+                .ifAvailable(EndpointAccessChecker::clearAccessRules);
+    }
+
+    private static void clearConstrainedBeanTypes() {
+        ApplicationContextProvider.getApplicationContext()
+                .getBeanProvider(EndpointInvoker.class)
+                .ifAvailable(EndpointInvoker::clearConstrainedBeanTypes);
+    }
+
+    private static void clearBeanProperties(String[] changedClasses) {
+        for (String changedClass : changedClasses) {
+            if (isIgnoredClass(changedClass)) {
+                continue;
+            }
+            try {
+                ExplicitNullableTypeCheckerHelper
+                        .clearBeanProperties(Class.forName(changedClass));
+            } catch (ClassNotFoundException e) {
+                getLogger().debug("Unable to find class " + changedClass, e);
+            }
+        }
+    }
+
     private static boolean isIgnoredClasses(String[] changedClasses) {
         for (String changedClass : changedClasses) {
             if (!isIgnoredClass(changedClass)) {
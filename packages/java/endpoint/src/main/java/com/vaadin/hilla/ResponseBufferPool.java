@@ -0,0 +1,187 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of fixed-size byte chunks used to serialize endpoint
+ * responses.
+ * <p>
+ * Responses are serialized into a buffer before anything is written to the
+ * client, so that a serialization failure can still be reported with an error
+ * status. A buffer is a list of chunks taken from the pool as it grows, so
+ * growing never copies what has already been written, and large responses
+ * return their chunks to the pool like small ones. At most the given number of
+ * idle chunks is kept, the others are left to the garbage collector.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+final class ResponseBufferPool {
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    /**
+     * A byte buffer made of chunks borrowed from the pool.
+     */
+    static final class Buffer extends OutputStream {
+        private final ResponseBufferPool pool;
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current;
+        private int position = CHUNK_SIZE;
+        private int size;
+
+        private Buffer(ResponseBufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void write(int b) {
+            if (position == CHUNK_SIZE) {
+                nextChunk();
+            }
+            current[position++] = (byte) b;
+            size++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (position == CHUNK_SIZE) {
+                    nextChunk();
+                }
+                int count = Math.min(length, CHUNK_SIZE - position);
+                System.arraycopy(bytes, offset, current, position, count);
+                position += count;
+                offset += count;
+                length -= count;
+                size += count;
+            }
+        }
+
+        private void nextChunk() {
+            current = pool.takeChunk();
+            chunks.add(current);
+            position = 0;
+        }
+
+        /**
+         * Gets the number of bytes written to the buffer.
+         *
+         * @return the number of bytes
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Writes the content of the buffer to the given stream, one chunk at
+         * a time.
+         *
+         * @param out
+         *            the stream to write to
+         * @throws IOException
+         *             if writing fails
+         */
+        void writeTo(OutputStream out) throws IOException {
+            int remaining = size;
+            for (byte[] chunk : chunks) {
+                int count = Math.min(remaining, CHUNK_SIZE);
+                out.write(chunk, 0, count);
+                remaining -= count;
+            }
+        }
+
+        /**
+         * Copies the content of the buffer into a new array, for APIs that
+         * need the response body as an array.
+         *
+         * @return the content of the buffer
+         */
+        byte[] toByteArray() {
+            byte[] bytes = new byte[size];
+            int offset = 0;
+            for (byte[] chunk : chunks) {
+                int count = Math.min(size - offset, CHUNK_SIZE);
+                System.arraycopy(chunk, 0, bytes, offset, count);
+                offset += count;
+            }
+            return bytes;
+        }
+
+        private void releaseChunks() {
+            chunks.forEach(pool::returnChunk);
+            chunks.clear();
+            current = null;
+            position = CHUNK_SIZE;
+            size = 0;
+        }
+    }
+
+    private final BlockingQueue<byte[]> chunks;
+
+    /**
+     * Creates a pool retaining at most the given number of idle chunks.
+     *
+     * @param maxPooledChunks
+     *            the maximum number of idle chunks kept in the pool
+     */
+    ResponseBufferPool(int maxPooledChunks) {
+        chunks = new ArrayBlockingQueue<>(maxPooledChunks);
+    }
+
+    /**
+     * Creates an empty buffer taking its chunks from the pool.
+     *
+     * @return an empty buffer
+     */
+    Buffer acquire() {
+        return new Buffer(this);
+    }
+
+    /**
+     * Returns the chunks of a buffer to the pool. The buffer must not be used
+     * after it has been released.
+     *
+     * @param buffer
+     *            the buffer to release
+     */
+    void release(Buffer buffer) {
+        buffer.releaseChunks();
+    }
+
+    /**
+     * Gets the number of idle chunks in the pool.
+     *
+     * @return the number of idle chunks
+     */
+    int getPooledChunks() {
+        return chunks.size();
+    }
+
+    private byte[] takeChunk() {
+        byte[] chunk = chunks.poll();
+        return chunk != null ? chunk : new byte[CHUNK_SIZE];
+    }
+
+    private void returnChunk(byte[] chunk) {
+        chunks.offer(chunk);
+    }
+}
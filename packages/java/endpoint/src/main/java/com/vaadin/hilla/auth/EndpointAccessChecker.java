@@ -16,8 +16,11 @@
 
 package com.vaadin.hilla.auth;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import jakarta.annotation.security.DenyAll;
@@ -41,6 +44,13 @@ import com.vaadin.flow.server.auth.AnonymousAllowed;
  * <p>
  * Method-level annotation override Class-level ones.
  * <p>
+ * The annotations of each endpoint method and class are compiled into an
+ * {@link EndpointAccessRule} the first time they are checked, so that later
+ * checks do not use reflection. Custom {@link AccessAnnotationChecker}
+ * subclasses are always consulted directly. The compiled rules are discarded
+ * with {@link #clearAccessRules()}, which is called when application classes
+ * are hotswapped.
+ * <p>
  * In the next example, since the class is denied to all, method1 is not
  * accessible to anyone, method2 can be executed by any authorized used, method3
  * is only allowed to the accounts having the ROLE_USER authority and method4 is
@@ -79,6 +89,10 @@ public class EndpointAccessChecker {
 
     private final AccessAnnotationChecker accessAnnotationChecker;
 
+    private final boolean compileAccessRules;
+
+    private final Map<AnnotatedElement, EndpointAccessRule> accessRules = new ConcurrentHashMap<>();
+
     /**
      * Creates a new instance.
      *
@@ -88,6 +102,9 @@ public class EndpointAccessChecker {
     public EndpointAccessChecker(
             AccessAnnotationChecker accessAnnotationChecker) {
         this.accessAnnotationChecker = accessAnnotationChecker;
+        this.compileAccessRules = accessAnnotationChecker != null
+                && accessAnnotationChecker
+                        .getClass() == AccessAnnotationChecker.class;
     }
 
     /**
@@ -132,8 +149,11 @@ public class EndpointAccessChecker {
      */
     public String check(Method method, Principal principal,
             Function<String, Boolean> rolesChecker) {
-        if (accessAnnotationChecker.hasAccess(method, principal,
-                rolesChecker)) {
+        boolean hasAccess = compileAccessRules
+                ? getAccessRule(method).hasAccess(principal, rolesChecker)
+                : accessAnnotationChecker.hasAccess(method, principal,
+                        rolesChecker);
+        if (hasAccess) {
             return null;
         }
 
@@ -159,7 +179,11 @@ public class EndpointAccessChecker {
      */
     public String check(Class<?> clazz, Principal principal,
             Function<String, Boolean> rolesChecker) {
-        if (accessAnnotationChecker.hasAccess(clazz, principal, rolesChecker)) {
+        boolean hasAccess = compileAccessRules
+                ? getAccessRule(clazz).hasAccess(principal, rolesChecker)
+                : accessAnnotationChecker.hasAccess(clazz, principal,
+                        rolesChecker);
+        if (hasAccess) {
             return null;
         }
 
@@ -171,6 +195,53 @@ public class EndpointAccessChecker {
         }
     }
 
+    /**
+     * Checks whether the endpoint method is accessible to anonymous users.
+     *
+     * @param method
+     *            the Vaadin endpoint method to check ACL
+     * @return {@code true} if anonymous users can call the method
+     */
+    public boolean isAnonymousAllowed(Method method) {
+        return compileAccessRules ? getAccessRule(method).isAnonymousAllowed()
+                : accessAnnotationChecker.hasAccess(method, null,
+                        role -> false);
+    }
+
+    /**
+     * Checks whether the endpoint class is accessible to anonymous users.
+     *
+     * @param clazz
+     *            the Vaadin endpoint class to check ACL
+     * @return {@code true} if anonymous users can call the class methods
+     */
+    public boolean isAnonymousAllowed(Class<?> clazz) {
+        return compileAccessRules ? getAccessRule(clazz).isAnonymousAllowed()
+                : accessAnnotationChecker.hasAccess(clazz, null,
+                        role -> false);
+    }
+
+    /**
+     * Discards the access rules compiled so far, so that the annotations are
+     * read again the next time an endpoint is checked. Used when application
+     * classes are hotswapped in development mode.
+     */
+    public void clearAccessRules() {
+        accessRules.clear();
+    }
+
+    private EndpointAccessRule getAccessRule(Method method) {
+        return accessRules.computeIfAbsent(method,
+                key -> EndpointAccessRule.of(
+                        accessAnnotationChecker.getSecurityTarget(method)));
+    }
+
+    private EndpointAccessRule getAccessRule(Class<?> clazz) {
+        return accessRules.computeIfAbsent(clazz,
+                key -> EndpointAccessRule.of(
+                        accessAnnotationChecker.getSecurityTarget(clazz)));
+    }
+
     private boolean isDevMode() {
         VaadinService vaadinService = VaadinService.getCurrent();
         return (vaadinService != null && !vaadinService
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2000-2023 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla.auth;
+
+import java.lang.reflect.AnnotatedElement;
+import java.security.Principal;
+import java.util.List;
+import java.util.function.Function;
+
+import jakarta.annotation.security.DenyAll;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+
+import com.vaadin.flow.server.auth.AnonymousAllowed;
+
+/**
+ * The access rule of an endpoint method or class, compiled from its access
+ * annotations.
+ * <p>
+ * The annotations are read once, when the rule is created, and the rule is
+ * then evaluated for each call without any reflection. The rules follow the
+ * semantics of {@link com.vaadin.flow.server.auth.AccessAnnotationChecker}:
+ * {@link DenyAll} denies everyone, {@link AnonymousAllowed} allows everyone,
+ * {@link RolesAllowed} allows authenticated users having any of the roles,
+ * {@link PermitAll} allows any authenticated user, and an element without any
+ * of these annotations denies everyone.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+public final class EndpointAccessRule {
+    private static final EndpointAccessRule DENY_ALL = new EndpointAccessRule(
+            Kind.DENY_ALL, List.of());
+    private static final EndpointAccessRule ANONYMOUS = new EndpointAccessRule(
+            Kind.ANONYMOUS, List.of());
+    private static final EndpointAccessRule AUTHENTICATED = new EndpointAccessRule(
+            Kind.AUTHENTICATED, List.of());
+
+    private enum Kind {
+        DENY_ALL, ANONYMOUS, AUTHENTICATED, ROLES
+    }
+
+    private final Kind kind;
+    private final List<String> roles;
+
+    private EndpointAccessRule(Kind kind, List<String> roles) {
+        this.kind = kind;
+        this.roles = roles;
+    }
+
+    /**
+     * Compiles the access rule of the given element from its access
+     * annotations.
+     *
+     * @param securityTarget
+     *            the method or class whose annotations define the access rule
+     * @return the access rule
+     */
+    public static EndpointAccessRule of(AnnotatedElement securityTarget) {
+        if (securityTarget.isAnnotationPresent(DenyAll.class)) {
+            return DENY_ALL;
+        }
+        if (securityTarget.isAnnotationPresent(AnonymousAllowed.class)) {
+            return ANONYMOUS;
+        }
+        RolesAllowed rolesAllowed = securityTarget
+                .getAnnotation(RolesAllowed.class);
+        if (rolesAllowed != null) {
+            return new EndpointAccessRule(Kind.ROLES,
+                    List.of(rolesAllowed.value()));
+        }
+        if (securityTarget.isAnnotationPresent(PermitAll.class)) {
+            return AUTHENTICATED;
+        }
+        return DENY_ALL;
+    }
+
+    /**
+     * Checks whether the rule allows access to the given user.
+     *
+     * @param principal
+     *            the user principal object, or {@code null} for an anonymous
+     *            user
+     * @param rolesChecker
+     *            a function for checking if a user is in a given role
+     * @return {@code true} if access is allowed
+     */
+    public boolean hasAccess(Principal principal,
+            Function<String, Boolean> rolesChecker) {
+        switch (kind) {
+        case ANONYMOUS:
+            return true;
+        case AUTHENTICATED:
+            return principal != null;
+        case ROLES:
+            if (principal == null) {
+                return false;
+            }
+            for (String role : roles) {
+                if (rolesChecker.apply(role)) {
+                    return true;
+                }
+            }
+            return false;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the rule allows access to anonymous users.
+     *
+     * @return {@code true} if anonymous access is allowed
+     */
+    public boolean isAnonymousAllowed() {
+        return kind == Kind.ANONYMOUS;
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.ROLES ? "roles " + roles : kind.toString();
+    }
+}
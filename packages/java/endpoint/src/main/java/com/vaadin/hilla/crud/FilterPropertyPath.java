@@ -0,0 +1,103 @@
+package com.vaadin.hilla.crud;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * A property path of an entity that has been resolved once, to be used by
+ * any number of filters.
+ *
+ * @param attributeNames
+ *            the names of the attributes along the path
+ * @param javaType
+ *            the Java type of the property
+ * @param valueType
+ *            how filter values for the property are parsed and compared
+ * @param stringStrategy
+ *            how the property is filtered if it is a string
+ */
+record FilterPropertyPath(String[] attributeNames, Class<?> javaType,
+        ValueType valueType, StringFilterStrategy stringStrategy) {
+
+    /**
+     * The kinds of properties that can be filtered.
+     */
+    enum ValueType {
+        STRING, NUMBER, BOOLEAN, LOCAL_DATE, LOCAL_TIME, LOCAL_DATE_TIME, ENUM,
+        UNSUPPORTED;
+
+        static ValueType of(Class<?> javaType) {
+            if (javaType == String.class) {
+                return STRING;
+            } else if (javaType == int.class || javaType == Integer.class
+                    || javaType == long.class || javaType == Long.class
+                    || javaType == float.class || javaType == Float.class
+                    || javaType == double.class || javaType == Double.class) {
+                return NUMBER;
+            } else if (javaType == boolean.class || javaType == Boolean.class) {
+                return BOOLEAN;
+            } else if (javaType == LocalDate.class) {
+                return LOCAL_DATE;
+            } else if (javaType == LocalTime.class) {
+                return LOCAL_TIME;
+            } else if (javaType == LocalDateTime.class) {
+                return LOCAL_DATE_TIME;
+            } else if (javaType.isEnum()) {
+                return ENUM;
+            }
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * Creates a path for the given dot-separated property path, using the
+     * default string filtering.
+     *
+     * @param propertyPath
+     *            the property path
+     * @param javaType
+     *            the Java type of the property
+     * @return the resolved path
+     */
+    static FilterPropertyPath of(String propertyPath, Class<?> javaType) {
+        return of(propertyPath, javaType, StringMatching.CONTAINS_IGNORE_CASE);
+    }
+
+    /**
+     * Creates a path for the given dot-separated property path.
+     *
+     * @param propertyPath
+     *            the property path
+     * @param javaType
+     *            the Java type of the property
+     * @param stringStrategy
+     *            how the property is filtered if it is a string
+     * @return the resolved path
+     */
+    static FilterPropertyPath of(String propertyPath, Class<?> javaType,
+            StringFilterStrategy stringStrategy) {
+        return new FilterPropertyPath(propertyPath.split("\\."), javaType,
+                ValueType.of(javaType), stringStrategy);
+    }
+
+    /**
+     * Gets the criteria path of the property from the given root.
+     *
+     * @param root
+     *            the query root
+     * @param <X>
+     *            the type of the property
+     * @return the criteria path
+     */
+    <X> Path<X> getPath(Root<?> root) {
+        Path<X> path = root.get(attributeNames[0]);
+        for (int i = 1; i < attributeNames.length; i++) {
+            path = path.get(attributeNames[i]);
+        }
+        return path;
+    }
+}
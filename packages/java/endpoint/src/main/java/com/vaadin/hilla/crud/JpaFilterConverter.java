@@ -1,5 +1,8 @@
 package com.vaadin.hilla.crud;
 
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+
 import jakarta.persistence.EntityManager;
 
 import com.vaadin.hilla.crud.filter.AndFilter;
@@ -8,9 +11,13 @@ import com.vaadin.hilla.crud.filter.OrFilter;
 import com.vaadin.hilla.crud.filter.PropertyStringFilter;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Utility class for converting Hilla {@link Filter} specifications into JPA
@@ -25,9 +32,23 @@ import org.springframework.stereotype.Component;
 @Component
 public class JpaFilterConverter {
 
+    /**
+     * The maximum number of resolved property paths to keep. Property paths
+     * come from the client, so the cache must not grow without bounds.
+     */
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private record PathKey(Class<?> entity, String propertyId) {
+    }
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private final ConcurrentHashMap<PathKey, FilterPropertyPath> propertyPaths = new ConcurrentHashMap<>();
+
     /**
      * Converts the given Hilla filter specification into a JPA filter
      * specification for the specified entity class.
@@ -35,7 +56,8 @@ public class JpaFilterConverter {
      * If the filter contains {@link PropertyStringFilter} instances, their
      * properties, or nested property paths, need to match the structure of the
      * entity class. Likewise, their filter values should be in a format that
-     * can be parsed into the type that the property is of.
+     * can be parsed into the type that the property is of. String properties
+     * are matched as selected by {@link StringFiltering}.
      *
      * @param <T>
      *            the type of the entity
@@ -56,9 +78,8 @@ public class JpaFilterConverter {
             return Specification.anyOf(filter.getChildren().stream()
                     .map(f -> toSpec(f, entity)).toList());
         } else if (rawFilter instanceof PropertyStringFilter filter) {
-            Class<?> javaType = extractPropertyJavaType(entity,
-                    filter.getPropertyId());
-            return new PropertyStringFilterSpecification<>(filter, javaType);
+            return new PropertyStringFilterSpecification<>(filter,
+                    getPropertyPath(entity, filter.getPropertyId()));
         } else {
             if (rawFilter != null) {
                 throw new IllegalArgumentException("Unknown filter type "
@@ -68,8 +89,38 @@ public class JpaFilterConverter {
         }
     }
 
-    private Class<?> extractPropertyJavaType(Class<?> entity,
+    Class<?> extractPropertyJavaType(Class<?> entity, String propertyId) {
+        return getPropertyPath(entity, propertyId).javaType();
+    }
+
+    /**
+     * Gets the resolved path of the given property of the entity class.
+     * <p>
+     * Resolving a path requires a lookup in the JPA metamodel, so the results
+     * are cached. Paths that cannot be resolved are not cached.
+     *
+     * @param entity
+     *            the entity class
+     * @param propertyId
+     *            the property, or dot-separated nested property path
+     * @return the resolved path
+     */
+    FilterPropertyPath getPropertyPath(Class<?> entity, String propertyId) {
+        var key = new PathKey(entity, propertyId);
+        FilterPropertyPath path = propertyPaths.get(key);
+        if (path == null) {
+            path = resolvePropertyPath(entity, propertyId);
+            if (propertyPaths.size() < MAX_CACHED_PATHS) {
+                propertyPaths.putIfAbsent(key, path);
+            }
+        }
+        return path;
+    }
+
+    private FilterPropertyPath resolvePropertyPath(Class<?> entity,
             String propertyId) {
+        Class<?> owner;
+        Class<?> javaType;
         if (propertyId.contains(".")) {
             String[] parts = propertyId.split("\\.");
             Root<?> root = em.getCriteriaBuilder().createQuery(entity)
@@ -80,11 +131,40 @@ public class JpaFilterConverter {
                 path = path.get(parts[i]);
                 i++;
             }
-            return path.getJavaType();
+            owner = path.getParentPath().getJavaType();
+            javaType = path.getJavaType();
         } else {
-            return em.getMetamodel().entity(entity).getAttribute(propertyId)
-                    .getJavaType();
+            owner = entity;
+            javaType = em.getMetamodel().entity(entity)
+                    .getAttribute(propertyId).getJavaType();
+        }
+        StringFilterStrategy stringStrategy = javaType == String.class
+                ? getStringFilterStrategy(owner,
+                        propertyId.substring(propertyId.lastIndexOf('.') + 1))
+                : StringMatching.CONTAINS_IGNORE_CASE;
+        return FilterPropertyPath.of(propertyId, javaType, stringStrategy);
+    }
+
+    private StringFilterStrategy getStringFilterStrategy(Class<?> owner,
+            String attributeName) {
+        Field field = ReflectionUtils.findField(owner, attributeName);
+        StringFiltering annotation = field != null
+                ? field.getAnnotation(StringFiltering.class)
+                : null;
+        if (annotation == null) {
+            annotation = AnnotationUtils.findAnnotation(owner,
+                    StringFiltering.class);
+        }
+        if (annotation == null) {
+            return StringMatching.CONTAINS_IGNORE_CASE;
+        }
+        Class<? extends StringFilterStrategy> strategyClass = annotation
+                .strategy();
+        if (strategyClass == StringFilterStrategy.class) {
+            return annotation.value();
         }
+        return applicationContext.getBeanProvider(strategyClass).getIfAvailable(
+                () -> BeanUtils.instantiateClass(strategyClass));
     }
 
 }
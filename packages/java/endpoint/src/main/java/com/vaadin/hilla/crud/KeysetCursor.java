@@ -0,0 +1,80 @@
+package com.vaadin.hilla.crud;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts the sort keys of the last object of a page to and from the opaque
+ * cursors sent to the browser.
+ * <p>
+ * A cursor is the URL-safe Base64 encoding of a JSON object with the sort keys,
+ * in sorting order. Its values, which can be null, are converted back to the
+ * types of the entity properties when it is decoded.
+ */
+final class KeysetCursor {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules();
+
+    private KeysetCursor() {
+        // Only static methods
+    }
+
+    /**
+     * Encodes the given sort keys as a cursor.
+     *
+     * @param keys
+     *            the sort keys by property path, in sorting order
+     * @return the cursor
+     */
+    static String encode(Map<String, Object> keys) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    "Unable to encode the keys of the last object as a cursor",
+                    e);
+        }
+    }
+
+    /**
+     * Decodes the given cursor into sort keys.
+     *
+     * @param cursor
+     *            the cursor
+     * @param propertyTypes
+     *            returns the type of the given entity property path
+     * @return the sort keys by property path, in sorting order
+     * @throws IllegalArgumentException
+     *             if the cursor is not valid
+     */
+    static Map<String, Object> decode(String cursor,
+            Function<String, Class<?>> propertyTypes) {
+        try {
+            JsonNode json = MAPPER.readTree(Base64.getUrlDecoder()
+                    .decode(cursor));
+            if (!(json instanceof ObjectNode object)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                keys.put(field.getKey(), field.getValue().isNull() ? null
+                        : MAPPER.treeToValue(field.getValue(),
+                                propertyTypes.apply(field.getKey())));
+            }
+            return keys;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
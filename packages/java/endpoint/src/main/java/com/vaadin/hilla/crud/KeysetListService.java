@@ -0,0 +1,32 @@
+package com.vaadin.hilla.crud;
+
+import com.vaadin.hilla.Nonnull;
+import com.vaadin.hilla.Nullable;
+import com.vaadin.hilla.crud.filter.Filter;
+
+/**
+ * A browser-callable service that can list the given type of object one page
+ * at a time, continuing after the last object of the previous page instead of
+ * skipping a number of objects. Fetching a page takes the same time however
+ * deep it is.
+ * <p>
+ * {@link ListRepositoryService} implements the listing, but does not expose it
+ * to the browser unless the service implements this interface.
+ */
+public interface KeysetListService<T> {
+    /**
+     * Lists the objects of the given type that follow the cursor of the given
+     * pageable, using its sorting, and the given filter.
+     *
+     * @param pageable
+     *            contains the page size, sorting, and the cursor of the
+     *            previous page
+     * @param filter
+     *            the filter to apply or {@code null} to not filter
+     * @return the page of objects, with the cursor of the next page
+     */
+    @Nonnull
+    KeysetPage<@Nonnull T> listByKeyset(KeysetPageable pageable,
+            @Nullable Filter filter);
+
+}
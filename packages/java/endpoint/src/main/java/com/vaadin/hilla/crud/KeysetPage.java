@@ -0,0 +1,44 @@
+package com.vaadin.hilla.crud;
+
+import java.util.List;
+
+import com.vaadin.hilla.Nonnull;
+import com.vaadin.hilla.Nullable;
+
+/**
+ * A page of objects returned by {@link KeysetListService}.
+ */
+public class KeysetPage<T> {
+    @Nonnull
+    private final List<@Nonnull T> items;
+    @Nullable
+    private final String nextCursor;
+
+    /**
+     * Creates a new page.
+     *
+     * @param items
+     *            the objects of the page
+     * @param nextCursor
+     *            the cursor of the next page, or {@code null} if this is the
+     *            last page
+     */
+    public KeysetPage(List<T> items, @Nullable String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor to request the next page with.
+     *
+     * @return the cursor, or {@code null} if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.vaadin.hilla.crud;
+
+import com.vaadin.hilla.Nonnull;
+import com.vaadin.hilla.Nullable;
+import com.vaadin.hilla.mappedtypes.Sort;
+
+/**
+ * Paging and sorting information for {@link KeysetListService}.
+ * <p>
+ * The first page is requested without a cursor, and each following page with
+ * the {@link KeysetPage#getNextCursor() cursor} returned with the previous
+ * page. A cursor is only valid with the sorting and filter it was returned
+ * for.
+ */
+public class KeysetPageable {
+    private int pageSize;
+    @Nonnull
+    private Sort sort = new Sort();
+    @Nullable
+    private String cursor;
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+}
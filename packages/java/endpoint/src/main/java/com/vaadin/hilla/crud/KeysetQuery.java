@@ -0,0 +1,270 @@
+package com.vaadin.hilla.crud;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Lists entities one page at a time, selecting the entities that follow the
+ * sort keys of the last entity of the previous page.
+ * <p>
+ * The identifier is always added to the sorting, so that the order is unique.
+ * Null values of optional properties are sorted before all other values, so
+ * they come first in ascending order and last in descending order, whatever
+ * the database does by default. The keys are compared accordingly, so
+ * entities with null sort keys are neither skipped nor repeated. Properties
+ * that cannot be null are sorted and compared as they are, so that an index
+ * on them can be used.
+ */
+class KeysetQuery<T> {
+
+    /**
+     * The maximum number of entities in a page, the same as the default
+     * maximum page size of Spring Data web support.
+     */
+    static final int MAX_PAGE_SIZE = 2000;
+
+    private final EntityManager em;
+    private final Class<T> entityClass;
+    private final List<Sort.Order> orders;
+    // Whether the sort key of each order can be null
+    private final List<Boolean> nullable;
+
+    /**
+     * Creates a query with the given sorting of the entity class.
+     *
+     * @param em
+     *            the entity manager
+     * @param entityClass
+     *            the entity class
+     * @param sort
+     *            the sorting, to which the identifier is added
+     */
+    KeysetQuery(EntityManager em, Class<T> entityClass, Sort sort) {
+        this.em = em;
+        this.entityClass = entityClass;
+        EntityType<T> entityType = em.getMetamodel().entity(entityClass);
+        if (!entityType.hasSingleIdAttribute()) {
+            throw new IllegalArgumentException(
+                    "Keyset pagination requires a single identifier attribute");
+        }
+        String id = entityType.getId(entityType.getIdType().getJavaType())
+                .getName();
+        List<Sort.Order> sortOrders = new ArrayList<>(sort.toList());
+        if (sortOrders.stream()
+                .noneMatch(order -> order.getProperty().equals(id))) {
+            sortOrders.add(Sort.Order.asc(id));
+        }
+        this.orders = List.copyOf(sortOrders);
+        this.nullable = orders.stream()
+                .map(order -> isNullable(entityType, order.getProperty()))
+                .toList();
+    }
+
+    /**
+     * Checks whether the given property path can be null, because the
+     * property or an association on the way to it is optional.
+     */
+    private static boolean isNullable(EntityType<?> entityType,
+            String property) {
+        ManagedType<?> type = entityType;
+        for (String part : property.split("\\.")) {
+            if (type == null) {
+                throw new IllegalArgumentException(
+                        "Unable to sort by '" + property + "'");
+            }
+            Attribute<?, ?> attribute = type.getAttribute(part);
+            if (!(attribute instanceof SingularAttribute<?, ?> singular)) {
+                // Collections are rejected when the query is built
+                return true;
+            }
+            if (singular.isOptional() && !singular.isId()) {
+                return true;
+            }
+            type = singular.getType() instanceof ManagedType<?> managedType
+                    ? managedType
+                    : null;
+        }
+        return false;
+    }
+
+    /**
+     * Lists the entities matching the given specification that follow the
+     * given sort keys.
+     *
+     * @param spec
+     *            the specification to filter by, or {@code null} to not filter
+     * @param pageSize
+     *            the maximum number of entities to list, which is capped at
+     *            {@value #MAX_PAGE_SIZE}
+     * @param after
+     *            the sort keys of the last entity of the previous page, or
+     *            {@code null} for the first page
+     * @return the page of entities, with the cursor of the next page
+     */
+    KeysetPage<T> list(Specification<T> spec, int pageSize,
+            Map<String, Object> after) {
+        if (after != null && !new ArrayList<>(after.keySet())
+                .equals(orders.stream().map(Sort.Order::getProperty)
+                        .toList())) {
+            throw new IllegalArgumentException(
+                    "The cursor does not match the sorting");
+        }
+        CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+        List<Path<?>> keys = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root);
+        for (Sort.Order order : orders) {
+            Path<?> key = getPath(root, order.getProperty(), joins);
+            keys.add(key);
+            selections.add(key);
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query,
+                    criteriaBuilder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (after != null) {
+            predicates.add(following(criteriaBuilder, keys, after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        List<Order> jpaOrders = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Path<?> key = keys.get(i);
+            boolean ascending = orders.get(i).isAscending();
+            if (nullable.get(i)) {
+                Expression<Integer> nonNull = criteriaBuilder
+                        .<Integer> selectCase()
+                        .when(criteriaBuilder.isNull(key), 0).otherwise(1);
+                jpaOrders.add(ascending ? criteriaBuilder.asc(nonNull)
+                        : criteriaBuilder.desc(nonNull));
+            }
+            jpaOrders.add(ascending ? criteriaBuilder.asc(key)
+                    : criteriaBuilder.desc(key));
+        }
+        query.orderBy(jpaOrders);
+
+        // Fetches one more entity to know whether there is a next page
+        int limit = Math.min(pageSize, MAX_PAGE_SIZE);
+        List<Tuple> tuples = em.createQuery(query).setMaxResults(limit + 1)
+                .getResultList();
+        boolean hasNext = tuples.size() > limit;
+        List<Tuple> page = hasNext ? tuples.subList(0, limit) : tuples;
+        List<T> items = page.stream()
+                .map(tuple -> tuple.get(0, entityClass)).toList();
+        String nextCursor = hasNext
+                ? KeysetCursor.encode(getKeys(page.get(page.size() - 1)))
+                : null;
+        return new KeysetPage<>(items, nextCursor);
+    }
+
+    private Map<String, Object> getKeys(Tuple tuple) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 0; i < orders.size(); i++) {
+            keys.put(orders.get(i).getProperty(), tuple.get(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Creates a predicate matching the entities that follow the given keys:
+     * those with a following first key, or an equal first key and a following
+     * second key, and so on.
+     */
+    private Predicate following(CriteriaBuilder criteriaBuilder,
+            List<Path<?>> keys, Map<String, Object> after) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalKeys = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            Path<?> key = keys.get(i);
+            Object value = after.get(order.getProperty());
+            Predicate followingKey = following(criteriaBuilder, key, value,
+                    order.isAscending(), nullable.get(i));
+            if (followingKey != null) {
+                List<Predicate> alternative = new ArrayList<>(equalKeys);
+                alternative.add(followingKey);
+                alternatives.add(criteriaBuilder
+                        .and(alternative.toArray(Predicate[]::new)));
+            }
+            equalKeys.add(value == null ? criteriaBuilder.isNull(key)
+                    : criteriaBuilder.equal(key, value));
+        }
+        return criteriaBuilder.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Predicate following(CriteriaBuilder criteriaBuilder, Path<?> key,
+            Object value, boolean ascending, boolean nullable) {
+        if (value == null) {
+            // Nulls come first, so they are only followed in ascending order
+            return ascending ? criteriaBuilder.isNotNull(key) : null;
+        }
+        if (!(value instanceof Comparable comparable)) {
+            throw new IllegalArgumentException(
+                    "Unable to sort by a value of type " + value.getClass());
+        }
+        Expression<Comparable> comparableKey = (Expression<Comparable>) key;
+        if (ascending) {
+            return criteriaBuilder.greaterThan(comparableKey, comparable);
+        }
+        Predicate lessThan = criteriaBuilder.lessThan(comparableKey,
+                comparable);
+        // Nulls come last in descending order
+        return nullable
+                ? criteriaBuilder.or(lessThan, criteriaBuilder.isNull(key))
+                : lessThan;
+    }
+
+    private Path<?> getPath(Root<T> root, String property,
+            Map<String, Join<?, ?>> joins) {
+        String[] parts = property.split("\\.");
+        From<?, ?> from = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            From<?, ?> parent = from;
+            String part = parts[i];
+            String joinPath = String.join(".",
+                    List.of(parts).subList(0, i + 1));
+            from = joins.computeIfAbsent(joinPath,
+                    p -> parent.join(part, JoinType.LEFT));
+            if (((Join<?, ?>) from).getAttribute().isCollection()) {
+                throw new IllegalArgumentException("Unable to sort by '"
+                        + property + "', as it is in a collection");
+            }
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+}
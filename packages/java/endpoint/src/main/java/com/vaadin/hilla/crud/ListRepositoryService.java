@@ -1,18 +1,26 @@
 package com.vaadin.hilla.crud;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.googlecode.gentyref.GenericTypeReflector;
 import com.vaadin.hilla.EndpointExposed;
+import com.vaadin.hilla.EndpointInvoker;
 import com.vaadin.hilla.Nullable;
 import com.vaadin.hilla.crud.filter.Filter;
+import com.vaadin.hilla.endpointransfermapper.SortMapper;
+import com.vaadin.hilla.exception.EndpointException;
+import com.vaadin.hilla.parser.jackson.JacksonObjectMapperFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.CrudRepository;
@@ -31,8 +39,12 @@ public class ListRepositoryService<T, ID, R extends CrudRepository<T, ID> & JpaS
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private R repository;
     private final Class<T> entityClass;
+    private final SortMapper sortMapper = new SortMapper();
 
     /*
      * Creates the service by autodetecting the type of repository and entity to
@@ -72,7 +84,107 @@ public class ListRepositoryService<T, ID, R extends CrudRepository<T, ID> & JpaS
     @Override
     public List<T> list(Pageable pageable, @Nullable Filter filter) {
         Specification<T> spec = toSpec(filter);
-        return getRepository().findAll(spec, pageable).getContent();
+        if (pageable.isUnpaged()) {
+            return getRepository().findAll(spec, pageable.getSort());
+        }
+        // Fetches a window rather than a page, as a page would also count all
+        // the matching entities, which the client asks for separately
+        ScrollPosition position = pageable.getOffset() == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset());
+        return getRepository()
+                .findBy(spec,
+                        query -> query.sortBy(pageable.getSort())
+                                .limit(pageable.getPageSize())
+                                .scroll(position))
+                .getContent();
+    }
+
+    /**
+     * Lists the entities that follow the cursor of the given pageable. The
+     * identifier of the entity is added to the sorting, so that the order is
+     * unique, and null values of optional properties are sorted before all
+     * other values. A page holds at most 2000 entities, whatever the page size
+     * of the pageable.
+     * <p>
+     * This method is not browser-callable by default. To call it from the
+     * browser, implement {@link KeysetListService} in the service and override
+     * this method as public:
+     *
+     * <pre>
+     * &#64;Override
+     * public KeysetPage&lt;Person&gt; listByKeyset(KeysetPageable pageable,
+     *         &#64;Nullable Filter filter) {
+     *     return super.listByKeyset(pageable, filter);
+     * }
+     * </pre>
+     *
+     * @param pageable
+     *            contains the page size, sorting, and the cursor of the
+     *            previous page
+     * @param filter
+     *            the filter to apply or {@code null} to not filter
+     * @return the page of entities, with the cursor of the next page
+     */
+    protected KeysetPage<T> listByKeyset(KeysetPageable pageable,
+            @Nullable Filter filter) {
+        if (pageable.getPageSize() <= 0) {
+            throw new IllegalArgumentException(
+                    "The page size must be greater than zero");
+        }
+        KeysetQuery<T> query = new KeysetQuery<>(entityManager, entityClass,
+                sortMapper.toEndpointType(pageable.getSort()));
+        Map<String, Object> after = pageable.getCursor() == null ? null
+                : KeysetCursor.decode(pageable.getCursor(),
+                        property -> jpaFilterConverter
+                                .extractPropertyJavaType(entityClass,
+                                        property));
+        return query.list(toSpec(filter), pageable.getPageSize(), after);
+    }
+
+    /**
+     * Lists the entities using a tuple query that selects only the given
+     * properties and the identifier. Each entity is returned as a map from
+     * property path to value, without the properties whose value is null, so
+     * no associations are loaded lazily when the results are serialized.
+     * <p>
+     * Only the properties that the endpoint mapper serializes can be loaded,
+     * so that the properties hidden from the browser stay hidden.
+     * <p>
+     * This method is not browser-callable by default. To call it from the
+     * browser, implement {@link ProjectionListService} in the service and
+     * override this method as public.
+     *
+     * @param pageable
+     *            contains information about paging and sorting
+     * @param filter
+     *            the filter to apply or {@code null} to not filter
+     * @param properties
+     *            the properties, or nested property paths, to load, at most
+     *            50
+     * @return a list of maps from property path to value
+     * @throws EndpointException
+     *             if the properties cannot be loaded
+     */
+    protected List<Map<String, Object>> listProjection(Pageable pageable,
+            @Nullable Filter filter, List<String> properties) {
+        try {
+            return new ProjectionQuery<>(entityManager, entityClass,
+                    properties, getSerializationConfig())
+                    .list(toSpec(filter), pageable);
+        } catch (IllegalArgumentException e) {
+            // The properties come from the browser
+            throw new EndpointException(e.getMessage());
+        }
+    }
+
+    private SerializationConfig getSerializationConfig() {
+        EndpointInvoker endpointInvoker = applicationContext
+                .getBeanProvider(EndpointInvoker.class).getIfAvailable();
+        return endpointInvoker != null
+                ? endpointInvoker.getSerializationConfig()
+                : new JacksonObjectMapperFactory.Json().build()
+                        .getSerializationConfig();
     }
 
     @Override
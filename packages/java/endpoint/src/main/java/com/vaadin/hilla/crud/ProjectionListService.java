@@ -0,0 +1,42 @@
+package com.vaadin.hilla.crud;
+
+import java.util.List;
+import java.util.Map;
+
+import com.vaadin.hilla.Nonnull;
+import com.vaadin.hilla.Nullable;
+import com.vaadin.hilla.crud.filter.Filter;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A browser-callable service that can list the given type of object, loading
+ * only the properties that the caller is going to show.
+ * <p>
+ * {@link ListRepositoryService} implements the listing, but does not expose it
+ * to the browser unless the service implements this interface.
+ */
+public interface ProjectionListService<T> {
+    /**
+     * Lists objects of the given type using the paging, sorting and filtering
+     * options provided in the parameters, with only the given properties
+     * loaded.
+     * <p>
+     * Each object is returned as a map from property path to value, which
+     * always includes the identifier of the object. Properties whose value
+     * is null are left out of the map.
+     *
+     * @param pageable
+     *            contains information about paging and sorting
+     * @param filter
+     *            the filter to apply or {@code null} to not filter
+     * @param properties
+     *            the properties, or nested property paths, to load, for
+     *            example {@code "name"} or {@code "address.city"}, at most 50
+     * @return a list of maps from property path to value, or an empty list if
+     *         no objects were found
+     */
+    @Nonnull
+    List<@Nonnull Map<String, Object>> listProjection(Pageable pageable,
+            @Nullable Filter filter, List<@Nonnull String> properties);
+
+}
@@ -0,0 +1,242 @@
+package com.vaadin.hilla.crud;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * Lists entities by selecting only the requested properties in a tuple query,
+ * and returning each entity as a map from property path to value.
+ * <p>
+ * Properties whose value is null are left out of the maps, so that a map never
+ * holds a null value. The maps are not entities, so nothing is loaded lazily
+ * when they are serialized.
+ * <p>
+ * The associations along nested property paths are left joined once each, so
+ * that loading the nested properties needs no further queries. Associations
+ * themselves and collections cannot be requested, as they would be loaded as
+ * managed entities or multiply the rows.
+ * <p>
+ * Only the properties that the endpoint mapper would serialize can be
+ * requested, following the same rules for each property along a path, so that
+ * values hidden from the browser, for instance with {@code @JsonIgnore} or a
+ * write-only {@code @JsonProperty}, cannot be read.
+ */
+class ProjectionQuery<T> {
+
+    /**
+     * The maximum number of properties that can be requested.
+     */
+    static final int MAX_PROPERTIES = 50;
+
+    private final EntityManager em;
+    private final Class<T> entityClass;
+    private final List<String> properties;
+
+    /**
+     * Creates a query for the given properties of the entity class.
+     *
+     * @param em
+     *            the entity manager
+     * @param entityClass
+     *            the entity class
+     * @param properties
+     *            the properties, or nested property paths, to load
+     * @param serializationConfig
+     *            the configuration of the endpoint mapper, which tells the
+     *            properties that can be loaded
+     * @throws IllegalArgumentException
+     *             if no properties or more than {@value #MAX_PROPERTIES}
+     *             properties are given, or a property is not serialized
+     */
+    ProjectionQuery(EntityManager em, Class<T> entityClass,
+            List<String> properties, SerializationConfig serializationConfig) {
+        if (properties.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "At least one property must be requested");
+        }
+        if (properties.size() > MAX_PROPERTIES) {
+            throw new IllegalArgumentException("At most " + MAX_PROPERTIES
+                    + " properties can be requested");
+        }
+        for (String property : properties) {
+            if (!isSerialized(serializationConfig, entityClass, property)) {
+                throw new IllegalArgumentException(
+                        "The property '" + property + "' is not available");
+            }
+        }
+        this.em = em;
+        this.entityClass = entityClass;
+        Set<String> selected = new LinkedHashSet<>();
+        EntityType<T> entityType = em.getMetamodel().entity(entityClass);
+        if (entityType.hasSingleIdAttribute()) {
+            String id = entityType.getId(entityType.getIdType().getJavaType())
+                    .getName();
+            // The identifier is not added if it is hidden from the browser
+            if (isSerialized(serializationConfig, entityClass, id)) {
+                selected.add(id);
+            }
+        }
+        selected.addAll(properties);
+        this.properties = List.copyOf(selected);
+    }
+
+    /**
+     * Lists the entities matching the given specification.
+     *
+     * @param spec
+     *            the specification to filter by, or {@code null} to not filter
+     * @param pageable
+     *            contains information about paging and sorting
+     * @return a list of maps from property path to value, without the
+     *         properties whose value is null
+     */
+    List<Map<String, Object>> list(Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String property : properties) {
+            selections.add(getPath(root, property, joins));
+        }
+        query.multiselect(selections);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query,
+                    criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(
+                QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<Tuple> typedQuery = em.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        // The query only returns scalar values, which are not managed, and
+        // at most one page of them unless unpaged results are requested
+        return typedQuery.getResultList().stream().map(this::toMap).toList();
+    }
+
+    /**
+     * Checks whether every property along the given path is serialized by
+     * Jackson with the given configuration. The path uses the names of the
+     * fields or getters, as the query does.
+     */
+    private static boolean isSerialized(SerializationConfig config,
+            Class<?> beanClass, String property) {
+        JavaType type = config.constructType(beanClass);
+        for (String part : property.split("\\.")) {
+            BeanDescription description = config.introspect(type);
+            AnnotatedClass classInfo = description.getClassInfo();
+            Set<String> ignored = config
+                    .getDefaultPropertyIgnorals(type.getRawClass(), classInfo)
+                    .findIgnoredForSerialization();
+            Set<String> included = config
+                    .getDefaultPropertyInclusions(type.getRawClass(),
+                            classInfo)
+                    .getIncluded();
+            BeanPropertyDefinition definition = description.findProperties()
+                    .stream()
+                    .filter(candidate -> candidate.getInternalName()
+                            .equals(part) && candidate.couldSerialize())
+                    .findFirst().orElse(null);
+            if (definition == null || ignored.contains(definition.getName())
+                    || (included != null
+                            && !included.contains(definition.getName()))) {
+                return false;
+            }
+            type = definition.getPrimaryType();
+            if (isIgnoredType(config, type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIgnoredType(SerializationConfig config,
+            JavaType type) {
+        Boolean ignored = config.getConfigOverride(type.getRawClass())
+                .getIsIgnoredType();
+        if (ignored == null) {
+            ignored = config.getAnnotationIntrospector().isIgnorableType(
+                    config.introspectClassAnnotations(type).getClassInfo());
+        }
+        return Boolean.TRUE.equals(ignored);
+    }
+
+    private Path<?> getPath(Root<T> root, String property,
+            Map<String, Join<?, ?>> joins) {
+        String[] parts = property.split("\\.");
+        From<?, ?> from = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            From<?, ?> parent = from;
+            String part = parts[i];
+            String joinPath = String.join(".",
+                    List.of(parts).subList(0, i + 1));
+            from = joins.computeIfAbsent(joinPath,
+                    p -> parent.join(part, JoinType.LEFT));
+            if (((Join<?, ?>) from).getAttribute().isCollection()) {
+                throw new IllegalArgumentException(
+                        "The property '" + property + "' is in a collection");
+            }
+        }
+        Path<?> path = from.get(parts[parts.length - 1]);
+        Class<?> javaType = path.getJavaType();
+        if (Collection.class.isAssignableFrom(javaType)
+                || Map.class.isAssignableFrom(javaType) || isEntity(javaType)) {
+            throw new IllegalArgumentException("The property '" + property
+                    + "' is an association, request its properties instead");
+        }
+        return path;
+    }
+
+    private boolean isEntity(Class<?> javaType) {
+        return em.getMetamodel().getEntities().stream()
+                .anyMatch(entityType -> entityType.getJavaType() == javaType);
+    }
+
+    private Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < properties.size(); i++) {
+            Object value = tuple.get(i);
+            if (value != null) {
+                values.put(properties.get(i), value);
+            }
+        }
+        return values;
+    }
+}
@@ -6,7 +6,6 @@ import java.time.LocalTime;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
@@ -17,38 +16,29 @@ import org.springframework.data.jpa.domain.Specification;
 public class PropertyStringFilterSpecification<T> implements Specification<T> {
 
     private final PropertyStringFilter filter;
-    private final Class<?> javaType;
+    private final FilterPropertyPath path;
 
     public PropertyStringFilterSpecification(PropertyStringFilter filter,
             Class<?> javaType) {
+        this(filter, FilterPropertyPath.of(filter.getPropertyId(), javaType));
+    }
+
+    PropertyStringFilterSpecification(PropertyStringFilter filter,
+            FilterPropertyPath path) {
         this.filter = filter;
-        this.javaType = javaType;
+        this.path = path;
     }
 
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query,
             CriteriaBuilder criteriaBuilder) {
         String value = filter.getFilterValue();
-        Path<String> propertyPath = getPath(filter.getPropertyId(), root);
-        if (javaType == String.class) {
-            Expression<String> expr = criteriaBuilder.lower(propertyPath);
-            switch (filter.getMatcher()) {
-            case EQUALS:
-                return criteriaBuilder.equal(expr, value.toLowerCase());
-            case CONTAINS:
-                return criteriaBuilder.like(expr,
-                        "%" + value.toLowerCase() + "%");
-            case GREATER_THAN:
-                throw new IllegalArgumentException(
-                        "A string cannot be filtered using greater than");
-            case LESS_THAN:
-                throw new IllegalArgumentException(
-                        "A string cannot be filtered using less than");
-            default:
-                break;
-            }
-
-        } else if (isNumber(javaType)) {
+        Path<String> propertyPath = path.getPath(root);
+        switch (path.valueType()) {
+        case STRING:
+            return path.stringStrategy().toPredicate(propertyPath,
+                    filter.getMatcher(), value, criteriaBuilder);
+        case NUMBER:
             switch (filter.getMatcher()) {
             case EQUALS:
                 return criteriaBuilder.equal(propertyPath, value);
@@ -62,7 +52,8 @@ public class PropertyStringFilterSpecification<T> implements Specification<T> {
             default:
                 break;
             }
-        } else if (isBoolean(javaType)) {
+            break;
+        case BOOLEAN: {
             Boolean booleanValue = Boolean.valueOf(value);
             switch (filter.getMatcher()) {
             case EQUALS:
@@ -79,59 +70,68 @@ public class PropertyStringFilterSpecification<T> implements Specification<T> {
             default:
                 break;
             }
-        } else if (isLocalDate(javaType)) {
-            var path = root.<LocalDate> get(filter.getPropertyId());
+            break;
+        }
+        case LOCAL_DATE: {
+            Path<LocalDate> datePath = path.getPath(root);
             var dateValue = LocalDate.parse(value);
             switch (filter.getMatcher()) {
             case EQUALS:
-                return criteriaBuilder.equal(path, dateValue);
+                return criteriaBuilder.equal(datePath, dateValue);
             case CONTAINS:
                 throw new IllegalArgumentException(
                         "A date cannot be filtered using contains");
             case GREATER_THAN:
-                return criteriaBuilder.greaterThan(path, dateValue);
+                return criteriaBuilder.greaterThan(datePath, dateValue);
             case LESS_THAN:
-                return criteriaBuilder.lessThan(path, dateValue);
+                return criteriaBuilder.lessThan(datePath, dateValue);
             default:
                 break;
             }
-        } else if (isLocalTime(javaType)) {
-            var path = root.<LocalTime> get(filter.getPropertyId());
+            break;
+        }
+        case LOCAL_TIME: {
+            Path<LocalTime> timePath = path.getPath(root);
             var timeValue = LocalTime.parse(value);
             switch (filter.getMatcher()) {
             case EQUALS:
-                return criteriaBuilder.equal(path, timeValue);
+                return criteriaBuilder.equal(timePath, timeValue);
             case CONTAINS:
                 throw new IllegalArgumentException(
                         "A time cannot be filtered using contains");
             case GREATER_THAN:
-                return criteriaBuilder.greaterThan(path, timeValue);
+                return criteriaBuilder.greaterThan(timePath, timeValue);
             case LESS_THAN:
-                return criteriaBuilder.lessThan(path, timeValue);
+                return criteriaBuilder.lessThan(timePath, timeValue);
             default:
                 break;
             }
-        } else if (isLocalDateTime(javaType)) {
-            var path = root.<LocalDateTime> get(filter.getPropertyId());
+            break;
+        }
+        case LOCAL_DATE_TIME: {
+            Path<LocalDateTime> dateTimePath = path.getPath(root);
             var dateValue = LocalDate.parse(value);
             var minValue = LocalDateTime.of(dateValue, LocalTime.MIN);
             var maxValue = LocalDateTime.of(dateValue, LocalTime.MAX);
             switch (filter.getMatcher()) {
             case EQUALS:
-                return criteriaBuilder.between(path, minValue, maxValue);
+                return criteriaBuilder.between(dateTimePath, minValue,
+                        maxValue);
             case CONTAINS:
                 throw new IllegalArgumentException(
                         "A datetime cannot be filtered using contains");
             case GREATER_THAN:
-                return criteriaBuilder.greaterThan(path, maxValue);
+                return criteriaBuilder.greaterThan(dateTimePath, maxValue);
             case LESS_THAN:
-                return criteriaBuilder.lessThan(path, minValue);
+                return criteriaBuilder.lessThan(dateTimePath, minValue);
             default:
                 break;
             }
-        } else if (javaType.isEnum()) {
-            var enumValue = Enum.valueOf(javaType.asSubclass(Enum.class),
-                    value);
+            break;
+        }
+        case ENUM: {
+            var enumValue = Enum.valueOf(
+                    path.javaType().asSubclass(Enum.class), value);
 
             switch (filter.getMatcher()) {
             case EQUALS:
@@ -148,42 +148,12 @@ public class PropertyStringFilterSpecification<T> implements Specification<T> {
             default:
                 break;
             }
+            break;
         }
-        throw new IllegalArgumentException("No implementation for " + javaType
-                + " using " + filter.getMatcher() + ".");
-    }
-
-    private boolean isNumber(Class<?> javaType) {
-        return javaType == int.class || javaType == Integer.class
-                || javaType == long.class || javaType == Long.class
-                || javaType == float.class || javaType == Float.class
-                || javaType == double.class || javaType == Double.class;
-    }
-
-    private Path<String> getPath(String propertyId, Root<T> root) {
-        String[] parts = propertyId.split("\\.");
-        Path<String> path = root.get(parts[0]);
-        int i = 1;
-        while (i < parts.length) {
-            path = path.get(parts[i]);
-            i++;
+        default:
+            break;
         }
-        return path;
-    }
-
-    private boolean isBoolean(Class<?> javaType) {
-        return javaType == boolean.class || javaType == Boolean.class;
-    }
-
-    private boolean isLocalDate(Class<?> javaType) {
-        return javaType == java.time.LocalDate.class;
-    }
-
-    private boolean isLocalTime(Class<?> javaType) {
-        return javaType == java.time.LocalTime.class;
-    }
-
-    private boolean isLocalDateTime(Class<?> javaType) {
-        return javaType == java.time.LocalDateTime.class;
+        throw new IllegalArgumentException("No implementation for "
+                + path.javaType() + " using " + filter.getMatcher() + ".");
     }
 }
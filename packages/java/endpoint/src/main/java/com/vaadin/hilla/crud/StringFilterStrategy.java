@@ -0,0 +1,39 @@
+package com.vaadin.hilla.crud;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import com.vaadin.hilla.crud.filter.PropertyStringFilter.Matcher;
+
+/**
+ * Builds the JPA predicate for a filter on a string property.
+ * <p>
+ * The built-in strategies are listed in {@link StringMatching}. Custom
+ * strategies, for example ones using the full-text search functions of the
+ * database, can be selected for a property using
+ * {@link StringFiltering#strategy()}. A custom strategy is looked up as a
+ * Spring bean, and instantiated using its no-argument constructor if there
+ * is no such bean.
+ */
+public interface StringFilterStrategy {
+
+    /**
+     * Creates a predicate matching the given property against the filter
+     * value.
+     *
+     * @param path
+     *            the path of the property to filter
+     * @param matcher
+     *            the matcher of the filter
+     * @param value
+     *            the filter value
+     * @param criteriaBuilder
+     *            the criteria builder to create the predicate with
+     * @return the predicate
+     * @throws IllegalArgumentException
+     *             if the strategy does not support the matcher
+     */
+    Predicate toPredicate(Path<String> path, Matcher matcher, String value,
+            CriteriaBuilder criteriaBuilder);
+}
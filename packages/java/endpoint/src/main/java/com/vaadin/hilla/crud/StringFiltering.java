@@ -0,0 +1,45 @@
+package com.vaadin.hilla.crud;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects how the string properties of an entity are filtered by
+ * {@link JpaFilterConverter}.
+ * <p>
+ * When placed on a field, applies to that property only. When placed on an
+ * entity class, applies to all of its string properties that are not
+ * annotated themselves. Properties without the annotation are filtered using
+ * {@link StringMatching#CONTAINS_IGNORE_CASE}.
+ * <p>
+ * For example, to filter a column using its index:
+ *
+ * <pre>
+ * &#64;StringFiltering(StringMatching.PREFIX)
+ * private String lastName;
+ * </pre>
+ */
+@Documented
+@Target({ ElementType.FIELD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StringFiltering {
+
+    /**
+     * The built-in matching to use.
+     *
+     * @return the matching
+     */
+    StringMatching value() default StringMatching.CONTAINS_IGNORE_CASE;
+
+    /**
+     * A custom strategy to use instead of the built-in matching, for example
+     * one using the full-text search functions of the database.
+     *
+     * @return the strategy class, or {@code StringFilterStrategy.class} to use
+     *         {@link #value()}
+     */
+    Class<? extends StringFilterStrategy> strategy() default StringFilterStrategy.class;
+}
@@ -0,0 +1,102 @@
+package com.vaadin.hilla.crud;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import com.vaadin.hilla.crud.filter.PropertyStringFilter.Matcher;
+
+/**
+ * The built-in ways of filtering string properties.
+ * <p>
+ * Only {@link #PREFIX} and {@link #EXACT} can use a regular index on the
+ * column. {@link #PREFIX_IGNORE_CASE} can use an index on {@code lower()} of
+ * the column, if the database supports such indexes.
+ * {@link #CONTAINS_IGNORE_CASE} cannot use an index and is only suitable for
+ * small tables.
+ */
+public enum StringMatching implements StringFilterStrategy {
+    /**
+     * Matches values that contain the filter value, ignoring case. This is the
+     * default.
+     */
+    CONTAINS_IGNORE_CASE {
+        @Override
+        Predicate contains(Path<String> path, String value,
+                CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.like(criteriaBuilder.lower(path),
+                    "%" + value.toLowerCase() + "%");
+        }
+    },
+    /**
+     * Matches values that start with the filter value, ignoring case.
+     */
+    PREFIX_IGNORE_CASE {
+        @Override
+        Predicate contains(Path<String> path, String value,
+                CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.like(criteriaBuilder.lower(path),
+                    escapeLike(value.toLowerCase()) + "%", ESCAPE);
+        }
+    },
+    /**
+     * Matches values that start with the filter value. The case must match.
+     */
+    PREFIX {
+        @Override
+        Predicate contains(Path<String> path, String value,
+                CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.like(path, escapeLike(value) + "%", ESCAPE);
+        }
+    },
+    /**
+     * Matches values that are equal to the filter value, also when filtering
+     * using contains. The case must match.
+     */
+    EXACT {
+        @Override
+        Predicate contains(Path<String> path, String value,
+                CriteriaBuilder criteriaBuilder) {
+            return criteriaBuilder.equal(path, value);
+        }
+    };
+
+    private static final char ESCAPE = '\\';
+
+    @Override
+    public Predicate toPredicate(Path<String> path, Matcher matcher,
+            String value, CriteriaBuilder criteriaBuilder) {
+        switch (matcher) {
+        case EQUALS:
+            if (isCaseSensitive()) {
+                return criteriaBuilder.equal(path, value);
+            }
+            Expression<String> expr = criteriaBuilder.lower(path);
+            return criteriaBuilder.equal(expr, value.toLowerCase());
+        case CONTAINS:
+            return contains(path, value, criteriaBuilder);
+        case GREATER_THAN:
+            throw new IllegalArgumentException(
+                    "A string cannot be filtered using greater than");
+        case LESS_THAN:
+            throw new IllegalArgumentException(
+                    "A string cannot be filtered using less than");
+        default:
+            throw new IllegalArgumentException(
+                    "No implementation for String using " + matcher + ".");
+        }
+    }
+
+    abstract Predicate contains(Path<String> path, String value,
+            CriteriaBuilder criteriaBuilder);
+
+    private boolean isCaseSensitive() {
+        return this == PREFIX || this == EXACT;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_",
+                "\\_");
+    }
+}
@@ -0,0 +1,30 @@
+package com.vaadin.hilla.push;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * A {@link PushBroker} that distributes the events within the current JVM
+ * only.
+ */
+public class InMemoryPushBroker implements PushBroker {
+
+    private record TopicEvent(String topic, String event) {
+    }
+
+    private final Sinks.Many<TopicEvent> sink = Sinks.many().multicast()
+            .directBestEffort();
+
+    @Override
+    public synchronized void publish(String topic, String event) {
+        // Fails only when there are no subscribers, or when a subscriber has
+        // not requested the event, in which case it is dropped
+        sink.tryEmitNext(new TopicEvent(topic, event));
+    }
+
+    @Override
+    public Flux<String> subscribe(String topic) {
+        return sink.asFlux().filter(event -> event.topic().equals(topic))
+                .map(TopicEvent::event);
+    }
+}
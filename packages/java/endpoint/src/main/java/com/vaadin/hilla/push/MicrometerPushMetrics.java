@@ -0,0 +1,147 @@
+package com.vaadin.hilla.push;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the events of the push subsystem as Micrometer meters.
+ * <p>
+ * The following meters are registered:
+ * <ul>
+ * <li>{@code hilla.push.connections}: the number of open push
+ * connections</li>
+ * <li>{@code hilla.push.subscriptions}: the number of active subscriptions,
+ * by endpoint method</li>
+ * <li>{@code hilla.push.subscriptions.ended}: the number of ended
+ * subscriptions, by endpoint method and reason, one of {@code completed},
+ * {@code cancelled}, {@code error} and {@code dropped}</li>
+ * <li>{@code hilla.push.items}: the number of items sent, by endpoint
+ * method</li>
+ * <li>{@code hilla.push.items.latency}: the time from the emission of an item
+ * until it was written to the connection, by endpoint method</li>
+ * <li>{@code hilla.push.serialization}: the time spent serializing
+ * messages</li>
+ * <li>{@code hilla.push.written}: the number of bytes written</li>
+ * <li>{@code hilla.push.disconnect.cleanup}: the time spent disposing the
+ * subscriptions of closed connections</li>
+ * </ul>
+ */
+public class MicrometerPushMetrics implements PushMetrics {
+    private static final String PREFIX = "hilla.push.";
+
+    private record MethodMeters(AtomicInteger subscriptions, Counter items,
+            Timer latency) {
+    }
+
+    private final MeterRegistry registry;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Timer serialization;
+    private final Counter written;
+    private final Timer disconnectCleanup;
+    private final ConcurrentHashMap<String, MethodMeters> methodMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance registering its meters in the given registry.
+     *
+     * @param registry
+     *            the meter registry
+     */
+    public MicrometerPushMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(PREFIX + "connections", connections, AtomicInteger::get)
+                .description("Open push connections").register(registry);
+        serialization = Timer.builder(PREFIX + "serialization")
+                .description("Time spent serializing push messages")
+                .register(registry);
+        written = Counter.builder(PREFIX + "written").baseUnit("bytes")
+                .description("Bytes written to push connections")
+                .register(registry);
+        disconnectCleanup = Timer.builder(PREFIX + "disconnect.cleanup")
+                .description("Time spent disposing the subscriptions of "
+                        + "closed push connections")
+                .register(registry);
+    }
+
+    @Override
+    public void connectionOpened() {
+        connections.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(long cleanupNanos) {
+        connections.decrementAndGet();
+        disconnectCleanup.record(cleanupNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void subscriptionStarted(String endpointName, String methodName) {
+        getMethodMeters(endpointName, methodName).subscriptions()
+                .incrementAndGet();
+    }
+
+    @Override
+    public void subscriptionEnded(String endpointName, String methodName,
+            SubscriptionEnd reason) {
+        getMethodMeters(endpointName, methodName).subscriptions()
+                .decrementAndGet();
+        Counter.builder(PREFIX + "subscriptions.ended")
+                .description("Ended push subscriptions")
+                .tags(getMethodTags(endpointName, methodName))
+                .tag("reason", reason.name().toLowerCase(Locale.ENGLISH))
+                .register(registry).increment();
+    }
+
+    @Override
+    public void itemSent(String endpointName, String methodName,
+            long latencyNanos) {
+        MethodMeters meters = getMethodMeters(endpointName, methodName);
+        meters.items().increment();
+        meters.latency().record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void messageWritten(long serializationNanos, long bytes) {
+        serialization.record(serializationNanos, TimeUnit.NANOSECONDS);
+        written.increment(bytes);
+    }
+
+    private MethodMeters getMethodMeters(String endpointName,
+            String methodName) {
+        // Endpoint and method names are case insensitive
+        String key = endpointName.toLowerCase(Locale.ENGLISH) + '.'
+                + methodName.toLowerCase(Locale.ENGLISH);
+        MethodMeters meters = methodMeters.get(key);
+        return meters != null ? meters
+                : methodMeters.computeIfAbsent(key, k -> createMethodMeters(
+                        getMethodTags(endpointName, methodName)));
+    }
+
+    private MethodMeters createMethodMeters(Tags tags) {
+        var subscriptions = new AtomicInteger();
+        Gauge.builder(PREFIX + "subscriptions", subscriptions,
+                AtomicInteger::get).description("Active push subscriptions")
+                .tags(tags).register(registry);
+        Counter items = Counter.builder(PREFIX + "items")
+                .description("Items sent to push clients").tags(tags)
+                .register(registry);
+        Timer latency = Timer.builder(PREFIX + "items.latency")
+                .description("Time from the emission of an item until it "
+                        + "was written to the connection")
+                .tags(tags).register(registry);
+        return new MethodMeters(subscriptions, items, latency);
+    }
+
+    private static Tags getMethodTags(String endpointName,
+            String methodName) {
+        return Tags.of("endpoint", endpointName.toLowerCase(Locale.ENGLISH),
+                "method", methodName.toLowerCase(Locale.ENGLISH));
+    }
+}
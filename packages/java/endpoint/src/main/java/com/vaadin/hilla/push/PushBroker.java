@@ -0,0 +1,38 @@
+package com.vaadin.hilla.push;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Distributes the events published to a topic to the subscribers of the topic,
+ * possibly on other nodes of a cluster.
+ * <p>
+ * Events are plain strings, usually JSON, so that they can be sent between
+ * nodes; {@link PushEvents} converts them from and to objects. Delivery is best
+ * effort: events published while a subscriber is not connected, or cannot keep
+ * up, may be lost.
+ * <p>
+ * An {@link InMemoryPushBroker} is used unless the application defines a bean
+ * of this type. {@link TcpPushBroker} is a reference implementation for a
+ * cluster.
+ */
+public interface PushBroker {
+
+    /**
+     * Publishes an event to the subscribers of the given topic.
+     *
+     * @param topic
+     *            the topic
+     * @param event
+     *            the event
+     */
+    void publish(String topic, String event);
+
+    /**
+     * Returns the events published to the given topic from now on.
+     *
+     * @param topic
+     *            the topic
+     * @return a flux of the events, which never completes
+     */
+    Flux<String> subscribe(String topic);
+}
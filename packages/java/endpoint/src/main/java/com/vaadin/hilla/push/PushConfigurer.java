@@ -14,12 +14,17 @@ import org.atmosphere.cpr.ContainerInitializer;
 import org.atmosphere.interceptor.AtmosphereResourceLifecycleInterceptor;
 import org.atmosphere.interceptor.SuspendTrackerInterceptor;
 import org.atmosphere.util.SimpleBroadcaster;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import com.vaadin.hilla.ConditionalOnFeatureFlag;
 import com.vaadin.hilla.EndpointInvoker;
 import jakarta.servlet.ServletContext;
@@ -47,12 +52,37 @@ public class PushConfigurer {
 
     @Bean
     PushEndpoint pushEndpoint() {
-        return new PushEndpoint();
+        var pushEndpoint = new PushEndpoint();
+        pushEndpoint.setBinaryFormats(endpointProperties.isPushBinaryFormats());
+        return pushEndpoint;
     }
 
     @Bean
-    PushMessageHandler pushMessageHandler(EndpointInvoker endpointInvoker) {
-        return new PushMessageHandler(endpointInvoker);
+    PushMessageHandler pushMessageHandler(EndpointInvoker endpointInvoker,
+            ObjectProvider<PushMetrics> pushMetrics) {
+        var pushMessageHandler = new PushMessageHandler(endpointInvoker);
+        pushMessageHandler.setUpdateBatching(
+                endpointProperties.getPushBatchMaxUpdates(),
+                endpointProperties.getPushBatchMaxDelay());
+        pushMetrics.ifAvailable(pushMessageHandler::setMetrics);
+        pushMessageHandler.setHeartbeat(
+                endpointProperties.getPushHeartbeatInterval(),
+                endpointProperties.getPushIdleTimeout());
+        pushMessageHandler.setLimits(
+                endpointProperties.getPushMaxSubscriptionsPerConnection(),
+                endpointProperties.getPushMaxConnectionsPerSession());
+        return pushMessageHandler;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    PushBroker pushBroker() {
+        return new InMemoryPushBroker();
+    }
+
+    @Bean
+    PushEvents pushEvents(PushBroker pushBroker, ObjectMapper objectMapper) {
+        return new PushEvents(pushBroker, objectMapper);
     }
 
     @Bean
@@ -84,6 +114,22 @@ public class PushConfigurer {
         return registration;
     }
 
+    /**
+     * Records push metrics in the Micrometer registry of the application, if
+     * any. Only loaded when Micrometer is on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class PushMetricsConfiguration {
+
+        @Bean
+        PushMetrics pushMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new MicrometerPushMetrics(registry)
+                    : PushMetrics.NONE;
+        }
+    }
+
     static class EmbeddedAtmosphereInitializer extends ContainerInitializer
             implements ServletContextInitializer {
 
@@ -0,0 +1,73 @@
+package com.vaadin.hilla.push;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines how the items of a {@code Flux} returned by an endpoint method are
+ * delivered to a client that cannot receive them as fast as they are
+ * produced.
+ * <p>
+ * Without this annotation, items are sent to the client as soon as they are
+ * emitted. With it, items are sent from a separate thread, one at a time,
+ * requesting the next item only when the previous one has been written to the
+ * push connection, and the items emitted in the meantime are handled
+ * according to the {@link #value() policy}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PushDelivery {
+
+    /**
+     * The policies for items that are emitted while the client is still
+     * receiving earlier items.
+     */
+    enum Policy {
+        /**
+         * Keeps up to {@link PushDelivery#bufferSize()} items, and fails the
+         * subscription if the buffer overflows.
+         */
+        BUFFER,
+        /**
+         * Keeps up to {@link PushDelivery#bufferSize()} items, dropping the
+         * oldest buffered item when the buffer is full.
+         */
+        DROP_OLDEST,
+        /**
+         * Keeps only the latest item.
+         */
+        LATEST,
+        /**
+         * Sends at most the latest item of every period of
+         * {@link PushDelivery#sampleMillis()} milliseconds.
+         */
+        SAMPLE
+    }
+
+    /**
+     * The delivery policy.
+     *
+     * @return the policy
+     */
+    Policy value() default Policy.BUFFER;
+
+    /**
+     * The maximum number of buffered items for the {@link Policy#BUFFER} and
+     * {@link Policy#DROP_OLDEST} policies.
+     *
+     * @return the buffer size
+     */
+    int bufferSize() default 256;
+
+    /**
+     * The sampling period, in milliseconds, for the {@link Policy#SAMPLE}
+     * policy.
+     *
+     * @return the sampling period
+     */
+    long sampleMillis() default 100;
+}
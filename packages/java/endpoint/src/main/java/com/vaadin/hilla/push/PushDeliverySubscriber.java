@@ -0,0 +1,126 @@
+package com.vaadin.hilla.push;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Subscribes to a {@code Flux} returned by an endpoint method and sends its
+ * items to the client.
+ * <p>
+ * With a {@link PushDelivery} policy, the subscriber requests one item at a
+ * time, and the next one only once the previous one has been written to the
+ * connection or, when updates are sent in batches, collected in a batch that
+ * has room for more. Items are thus never queued without limit on the way to
+ * a slow client. Otherwise, all items are requested up front.
+ * <p>
+ * The policy is applied to the flux of each subscription, after any sharing
+ * of the flux between subscriptions, and requests all items from it, so that a
+ * slow client of a {@link SharedFlux} does not hold back the other clients.
+ */
+class PushDeliverySubscriber<T> extends BaseSubscriber<T> {
+    private static final Runnable NO_CALLBACK = () -> {
+    };
+
+    private final BiConsumer<? super T, Runnable> onItem;
+    private final Consumer<Throwable> onError;
+    private final Runnable onComplete;
+    private final boolean demandDriven;
+
+    private PushDeliverySubscriber(BiConsumer<? super T, Runnable> onItem,
+            Consumer<Throwable> onError, Runnable onComplete,
+            boolean demandDriven) {
+        this.onItem = onItem;
+        this.onError = onError;
+        this.onComplete = onComplete;
+        this.demandDriven = demandDriven;
+    }
+
+    /**
+     * Subscribes to the given flux, applying the given delivery policy.
+     *
+     * @param flux
+     *            the flux returned by the endpoint method
+     * @param delivery
+     *            the delivery policy of the method, or {@code null} to
+     *            request all items up front
+     * @param onItem
+     *            sends an item to the client, and runs the given callback
+     *            once the item has been written
+     * @param onError
+     *            called when the flux fails
+     * @param onComplete
+     *            called when the flux completes
+     * @return the subscriber, which can be disposed to cancel the
+     *         subscription
+     */
+    static <T> PushDeliverySubscriber<T> subscribe(Flux<T> flux,
+            PushDelivery delivery, BiConsumer<? super T, Runnable> onItem,
+            Consumer<Throwable> onError, Runnable onComplete) {
+        var subscriber = new PushDeliverySubscriber<>(onItem, onError,
+                onComplete, delivery != null);
+        if (delivery == null) {
+            flux.subscribe(subscriber);
+        } else {
+            // Decouples the producer from the writes to the connection, so
+            // that the policy handles the items emitted during a write. The
+            // flux may be shared, so the policy is applied here, for this
+            // subscription only.
+            applyPolicy(flux, delivery)
+                    .publishOn(Schedulers.boundedElastic(), 1)
+                    .subscribe(subscriber);
+        }
+        return subscriber;
+    }
+
+    private static <T> Flux<T> applyPolicy(Flux<T> flux,
+            PushDelivery delivery) {
+        switch (delivery.value()) {
+        case BUFFER:
+            return flux.onBackpressureBuffer(delivery.bufferSize());
+        case DROP_OLDEST:
+            return flux.onBackpressureBuffer(delivery.bufferSize(),
+                    dropped -> {
+                    }, BufferOverflowStrategy.DROP_OLDEST);
+        case LATEST:
+            return flux.onBackpressureLatest();
+        case SAMPLE:
+            return flux.sample(Duration.ofMillis(delivery.sampleMillis()))
+                    .onBackpressureLatest();
+        default:
+            throw new IllegalArgumentException(
+                    "Unknown push delivery policy: " + delivery.value());
+        }
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        if (demandDriven) {
+            request(1);
+        } else {
+            requestUnbounded();
+        }
+    }
+
+    @Override
+    protected void hookOnNext(T item) {
+        onItem.accept(item, demandDriven ? () -> request(1) : NO_CALLBACK);
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        onError.accept(throwable);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        onComplete.run();
+    }
+}
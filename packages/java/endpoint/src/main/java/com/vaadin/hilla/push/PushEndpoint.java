@@ -1,15 +1,20 @@
 package com.vaadin.hilla.push;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
+import org.atmosphere.client.TrackMessageSizeInterceptor;
 import org.atmosphere.cpr.AtmosphereRequest;
 import org.atmosphere.cpr.AtmosphereResource;
 import org.atmosphere.cpr.AtmosphereResourceEvent;
 import org.atmosphere.cpr.AtmosphereResourceEventListenerAdapter;
 import org.atmosphere.handler.AtmosphereHandlerAdapter;
 import org.atmosphere.util.IOUtils;
+import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,9 +24,11 @@ import org.springframework.security.core.context.SecurityContextImpl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 import com.vaadin.hilla.push.messages.fromclient.AbstractServerMessage;
 import com.vaadin.hilla.push.messages.toclient.AbstractClientMessage;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageFormat;
 
 /**
  * Sets up and configures the push channel.
@@ -33,6 +40,16 @@ public class PushEndpoint extends AtmosphereHandlerAdapter {
     @Autowired
     private PushMessageHandler pushMessageHandler;
 
+    private volatile ObjectMapper cborMapper;
+
+    private boolean binaryFormats;
+
+    /*
+     * The message formats of the connections that do not use JSON, by
+     * connection id
+     */
+    private final Map<String, PushMessageFormat> connectionFormats = new ConcurrentHashMap<>();
+
     @Override
     public void onRequest(AtmosphereResource resource) throws IOException {
         String method = resource.getRequest().getMethod();
@@ -50,21 +67,24 @@ public class PushEndpoint extends AtmosphereHandlerAdapter {
         // and not
         // all push channels
         AtmosphereRequest request = resource.getRequest();
+        PushMessageFormat format = getFormat(resource);
         try {
-            Object o = IOUtils.readEntirely(resource);
+            Object o = format.isBinary() ? IOUtils.readEntirelyAsByte(resource)
+                    : IOUtils.readEntirely(resource);
             if (IOUtils.isBodyEmpty(o)) {
                 getLogger().warn("Received an empty body for push message {}",
                         request);
                 return;
             }
 
-            String message = o == null ? null : o.toString();
+            Object message = o == null || o instanceof byte[] ? o
+                    : o.toString();
             if (message != null) {
                 Principal p = request.getUserPrincipal();
                 SecurityContextHolder.setContext(
                         new SecurityContextImpl((Authentication) p));
                 try {
-                    onMessage(resource, message);
+                    onMessage(resource, format, message);
                 } finally {
                     SecurityContextHolder.clearContext();
                 }
@@ -90,40 +110,77 @@ public class PushEndpoint extends AtmosphereHandlerAdapter {
      *
      * @param event
      *            the Atmosphere resource that received the message
+     * @param format
+     *            the message format of the connection
      * @param messageFromClient
-     *            the received message
+     *            the received message, a string or a byte array for binary
+     *            formats
      */
     private void onMessage(AtmosphereResource resource,
-            String messageFromClient) {
+            PushMessageFormat format, Object messageFromClient) {
+        ObjectMapper mapper = getObjectMapper(format);
         try {
-            AbstractServerMessage message = objectMapper
-                    .readValue(messageFromClient, AbstractServerMessage.class);
+            AbstractServerMessage message = messageFromClient instanceof byte[]
+                    ? mapper.readValue((byte[]) messageFromClient,
+                            AbstractServerMessage.class)
+                    : mapper.readValue(messageFromClient.toString(),
+                            AbstractServerMessage.class);
             if (getLogger().isDebugEnabled()) {
                 getLogger().debug(
                         "Received push message from the client: " + message);
             }
-            Consumer<AbstractClientMessage> sender = msg -> {
-                try {
-                    if (getLogger().isDebugEnabled()) {
-                        getLogger().debug(
-                                "Sending push message to the client: " + msg);
-                    }
-                    resource.write(objectMapper.writeValueAsString(msg));
-                } catch (JsonProcessingException
-                        | IllegalArgumentException e1) {
-                    getLogger().warn(
-                            "Unexpected problem when sending push message", e1);
-                }
-            };
-
+            Consumer<AbstractClientMessage> sender = createSender(resource,
+                    format);
             pushMessageHandler.handleMessage(resource.uuid(), message, sender);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             getLogger().warn("Unexpected problem when receiving push message",
                     e);
         }
 
     }
 
+    /**
+     * Creates a method that sends messages to the client of the given
+     * resource.
+     *
+     * @param resource
+     *            the Atmosphere resource of the connection
+     * @param format
+     *            the message format of the connection
+     * @return the sender
+     */
+    private Consumer<AbstractClientMessage> createSender(
+            AtmosphereResource resource, PushMessageFormat format) {
+        ObjectMapper mapper = getObjectMapper(format);
+        return msg -> {
+            try {
+                if (getLogger().isDebugEnabled()) {
+                    getLogger().debug(
+                            "Sending push message to the client: " + msg);
+                }
+                PushMetrics metrics = pushMessageHandler.getMetrics();
+                long start = System.nanoTime();
+                if (format.isBinary()) {
+                    byte[] bytes = mapper.writeValueAsBytes(msg);
+                    long serializationNanos = System.nanoTime() - start;
+                    resource.write(bytes);
+                    metrics.messageWritten(serializationNanos, bytes.length);
+                } else if (metrics.isEnabled()) {
+                    // The UTF-8 encoding of the message tells its size
+                    byte[] bytes = mapper.writeValueAsBytes(msg);
+                    long serializationNanos = System.nanoTime() - start;
+                    resource.write(new String(bytes, StandardCharsets.UTF_8));
+                    metrics.messageWritten(serializationNanos, bytes.length);
+                } else {
+                    resource.write(mapper.writeValueAsString(msg));
+                }
+            } catch (JsonProcessingException | IllegalArgumentException e1) {
+                getLogger().warn(
+                        "Unexpected problem when sending push message", e1);
+            }
+        };
+    }
+
     /**
      * Called when the client sends the first request (to establish a push
      * connection).
@@ -132,8 +189,51 @@ public class PushEndpoint extends AtmosphereHandlerAdapter {
      *            the resource which was connected
      */
     private void onConnect(AtmosphereResource resource) {
-        pushMessageHandler.handleBrowserConnect(resource.uuid());
+        PushMessageFormat format = PushMessageFormat
+                .fromConnectRequest(resource, binaryFormats);
+        if (format.isBinary()) {
+            connectionFormats.put(resource.uuid(), format);
+            resource.forceBinaryWrite(true);
+            // Websocket frames need no length prefix, and it would corrupt
+            // binary messages
+            resource.getRequest().setAttribute(
+                    TrackMessageSizeInterceptor.SKIP_INTERCEPTOR, Boolean.TRUE);
+        }
+        Consumer<AbstractClientMessage> sender = createSender(resource,
+                format);
+        HttpSession session = resource.getRequest().getSession(false);
+        if (!pushMessageHandler.handleBrowserConnect(resource.uuid(),
+                session != null ? session.getId() : null, sender,
+                () -> close(resource))) {
+            getLogger().warn(
+                    "Rejecting push connection {}, its session has too many connections",
+                    resource.uuid());
+            connectionFormats.remove(resource.uuid());
+            close(resource);
+            return;
+        }
         resource.addEventListener(new DisconnectListener(this));
+        if (PushMessageFormat.isRequested(resource)) {
+            // The requested format might not be available, so the client is
+            // told which one is used. A message would end a long polling
+            // request, so other transports only get the response header.
+            resource.getResponse().setHeader(PushMessageFormat.FORMAT_HEADER,
+                    format.name());
+            if (resource
+                    .transport() == AtmosphereResource.TRANSPORT.WEBSOCKET) {
+                sender.accept(new ClientMessageFormat(format.name()));
+            }
+        }
+    }
+
+    /**
+     * Sets whether clients can request binary message formats.
+     *
+     * @param binaryFormats
+     *            {@code true} to allow binary formats on websocket connections
+     */
+    void setBinaryFormats(boolean binaryFormats) {
+        this.binaryFormats = binaryFormats;
     }
 
     private static class DisconnectListener
@@ -165,7 +265,46 @@ public class PushEndpoint extends AtmosphereHandlerAdapter {
      *            the Atmosphere event
      */
     private void onDisconnect(AtmosphereResourceEvent event) {
-        pushMessageHandler.handleBrowserDisconnect(event.getResource().uuid());
+        String connectionId = event.getResource().uuid();
+        connectionFormats.remove(connectionId);
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+    }
+
+    private PushMessageFormat getFormat(AtmosphereResource resource) {
+        return connectionFormats.getOrDefault(resource.uuid(),
+                PushMessageFormat.JSON);
+    }
+
+    private ObjectMapper getObjectMapper(PushMessageFormat format) {
+        if (format != PushMessageFormat.CBOR) {
+            return objectMapper;
+        }
+        ObjectMapper mapper = cborMapper;
+        if (mapper == null) {
+            mapper = CborMapperFactory.create(objectMapper);
+            cborMapper = mapper;
+        }
+        return mapper;
+    }
+
+    /**
+     * Keeps the optional CBOR classes out of the push endpoint, so that they
+     * are only loaded when the format is used.
+     */
+    private static final class CborMapperFactory {
+        private static ObjectMapper create(ObjectMapper jsonMapper) {
+            // Same configuration and modules as the JSON mapper
+            return jsonMapper.copyWith(new CBORFactory());
+        }
+    }
+
+    private void close(AtmosphereResource resource) {
+        try {
+            resource.close();
+        } catch (IOException e) {
+            getLogger().debug("Unable to close push connection {}",
+                    resource.uuid(), e);
+        }
     }
 
     private void onThrowable(AtmosphereResourceEvent event) {
@@ -0,0 +1,106 @@
+package com.vaadin.hilla.push;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Publishes events to the topics of the {@link PushBroker}, and subscribes to
+ * them, converting the events from and to JSON.
+ * <p>
+ * An endpoint method can return the flux of a topic to push the events
+ * published on any node of the cluster to its clients:
+ *
+ * <pre>
+ * public Flux&lt;Quote&gt; quotes() {
+ *     return pushEvents.subscribe("quotes", Quote.class);
+ * }
+ * </pre>
+ *
+ * All the subscriptions to a topic in this JVM share one subscription to the
+ * broker.
+ */
+public class PushEvents {
+    private final PushBroker broker;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, Flux<String>> topics = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param broker
+     *            the broker distributing the events
+     * @param objectMapper
+     *            the object mapper converting the events from and to JSON
+     */
+    public PushEvents(PushBroker broker, ObjectMapper objectMapper) {
+        this.broker = broker;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Publishes an event to the subscribers of the given topic.
+     *
+     * @param topic
+     *            the topic
+     * @param event
+     *            the event, which must be serializable to JSON
+     * @throws IllegalArgumentException
+     *             if the event cannot be serialized
+     */
+    public void publish(String topic, Object event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(
+                    "Unable to serialize the event for topic " + topic, e);
+        }
+        broker.publish(topic, json);
+    }
+
+    /**
+     * Returns the events published to the given topic from now on.
+     * <p>
+     * Events that cannot be converted to the given type are logged and
+     * skipped.
+     *
+     * @param topic
+     *            the topic
+     * @param type
+     *            the type of the events
+     * @param <T>
+     *            the type of the events
+     * @return a flux of the events, which never completes
+     */
+    public <T> Flux<T> subscribe(String topic, Class<T> type) {
+        return topics.computeIfAbsent(topic, this::subscribeToBroker)
+                .handle((json, sink) -> {
+                    try {
+                        sink.next(objectMapper.readValue(json, type));
+                    } catch (JsonProcessingException e) {
+                        getLogger().warn(
+                                "Unable to read an event of topic {} as {}",
+                                topic, type.getName(), e);
+                    }
+                });
+    }
+
+    private Flux<String> subscribeToBroker(String topic) {
+        var shared = new AtomicReference<Flux<String>>();
+        shared.set(broker.subscribe(topic)
+                .doFinally(signal -> topics.remove(topic, shared.get()))
+                .publish().refCount());
+        return shared.get();
+    }
+
+    private Logger getLogger() {
+        return LoggerFactory.getLogger(getClass());
+    }
+}
@@ -0,0 +1,140 @@
+package com.vaadin.hilla.push;
+
+import java.util.Locale;
+
+import org.atmosphere.cpr.AtmosphereRequest;
+import org.atmosphere.cpr.AtmosphereResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The encodings of the messages sent through the push channel.
+ * <p>
+ * The format is chosen by the client when it connects, using the
+ * {@value #FORMAT_HEADER} header or query parameter, and applies to the
+ * messages in both directions for the lifetime of the connection. Binary
+ * formats are only available over websockets, where each message is sent as a
+ * binary frame, and when enabled with the
+ * {@code vaadin.endpoint.push-binary-formats} property. CBOR also requires
+ * {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor} on the
+ * classpath. Other transports always use JSON. When the client requests a format, the format used is returned
+ * in the {@value #FORMAT_HEADER} response header and, on websockets, in the
+ * first message of the connection, as the requested one may not be available.
+ */
+public enum PushMessageFormat {
+    /**
+     * Messages are JSON text frames. This is the default.
+     */
+    JSON(false, null),
+    /**
+     * Messages are CBOR (RFC 8949) encoded binary frames, with the same
+     * structure as the JSON messages.
+     */
+    CBOR(true, "com.fasterxml.jackson.dataformat.cbor.CBORFactory");
+
+    /**
+     * The name of the header or query parameter used to select the format
+     * when connecting.
+     */
+    public static final String FORMAT_HEADER = "X-Hilla-Push-Format";
+
+    private final boolean binary;
+    private final boolean available;
+
+    PushMessageFormat(boolean binary, String requiredClass) {
+        this.binary = binary;
+        this.available = requiredClass == null || ClassUtils.isPresent(
+                requiredClass, PushMessageFormat.class.getClassLoader());
+    }
+
+    /**
+     * Checks whether messages in this format are sent as binary frames.
+     *
+     * @return {@code true} for binary formats
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Checks whether the library encoding messages in this format is on the
+     * classpath.
+     *
+     * @return {@code true} if the format can be used
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Checks whether the client requested a format for the given connection,
+     * in which case the format used is acknowledged.
+     *
+     * @param resource
+     *            the resource of the connection request
+     * @return {@code true} if the client requested a format
+     */
+    static boolean isRequested(AtmosphereResource resource) {
+        String value = getRequestedFormat(resource);
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * Gets the format requested by the client for the given connection.
+     *
+     * @param resource
+     *            the resource of the connection request
+     * @param binaryAllowed
+     *            {@code false} to use JSON even if a binary format is
+     *            requested
+     * @return the format to use for the connection
+     */
+    static PushMessageFormat fromConnectRequest(AtmosphereResource resource,
+            boolean binaryAllowed) {
+        String value = getRequestedFormat(resource);
+        if (value == null || value.isEmpty()) {
+            return JSON;
+        }
+
+        PushMessageFormat format;
+        try {
+            format = valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            getLogger().warn("Unknown push message format '{}', using JSON",
+                    value);
+            return JSON;
+        }
+
+        if (!format.isAvailable()) {
+            getLogger().warn(
+                    "Push message format {} is not available on the classpath, using JSON",
+                    format);
+            return JSON;
+        }
+        if (format.isBinary() && !binaryAllowed) {
+            getLogger().debug(
+                    "Push message format {} is not enabled, using JSON",
+                    format);
+            return JSON;
+        }
+        if (format.isBinary() && resource
+                .transport() != AtmosphereResource.TRANSPORT.WEBSOCKET) {
+            getLogger().debug(
+                    "Push message format {} requires a websocket connection, using JSON",
+                    format);
+            return JSON;
+        }
+        return format;
+    }
+
+    private static String getRequestedFormat(AtmosphereResource resource) {
+        AtmosphereRequest request = resource.getRequest();
+        String value = request.getHeader(FORMAT_HEADER);
+        return value != null ? value : request.getParameter(FORMAT_HEADER);
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(PushMessageFormat.class);
+    }
+}
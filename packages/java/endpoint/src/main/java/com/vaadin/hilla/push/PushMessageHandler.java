@@ -1,11 +1,18 @@
 package com.vaadin.hilla.push;
 
 import java.security.Principal;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.ServletContext;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -27,14 +34,17 @@ import com.vaadin.hilla.EndpointInvocationException.EndpointNotFoundException;
 import com.vaadin.hilla.EndpointInvoker;
 import com.vaadin.hilla.EndpointSubscription;
 import com.vaadin.hilla.push.messages.fromclient.AbstractServerMessage;
+import com.vaadin.hilla.push.messages.fromclient.PongMessage;
 import com.vaadin.hilla.push.messages.fromclient.SubscribeMessage;
 import com.vaadin.hilla.push.messages.fromclient.UnsubscribeMessage;
 import com.vaadin.hilla.push.messages.toclient.AbstractClientMessage;
 import com.vaadin.hilla.push.messages.toclient.ClientMessageComplete;
 import com.vaadin.hilla.push.messages.toclient.ClientMessageError;
+import com.vaadin.hilla.push.messages.toclient.ClientMessagePing;
 import com.vaadin.hilla.push.messages.toclient.ClientMessageUpdate;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Handles incoming requests from the client and connects them to fluxes
@@ -47,12 +57,17 @@ public class PushMessageHandler {
         private final Disposable fluxSubscriptionDisposable;
 
         private SubscriptionInfo(Disposable fluxSubscriptionDisposable,
-                Runnable unsubscribeHandler) {
+                Runnable unsubscribeHandler, String endpointName,
+                String methodName) {
             this.fluxSubscriptionDisposable = fluxSubscriptionDisposable;
             this.unsubscribeHandler = unsubscribeHandler;
+            this.endpointName = endpointName;
+            this.methodName = methodName;
         }
 
         private final Runnable unsubscribeHandler;
+        private final String endpointName;
+        private final String methodName;
 
         private Disposable getFluxSubscriptionDisposable() {
             return fluxSubscriptionDisposable;
@@ -63,6 +78,29 @@ public class PushMessageHandler {
         }
     }
 
+    /*
+     * Holds the place of a subscription while the endpoint method is invoked,
+     * so that it counts towards the limit of the connection
+     */
+    private static final SubscriptionInfo RESERVED = new SubscriptionInfo(
+            () -> {
+            }, null, null, null);
+
+    private static class ConnectionInfo {
+        private final String sessionId;
+        private final Consumer<AbstractClientMessage> sender;
+        private final Runnable closeConnection;
+        private volatile long lastActivity = System.nanoTime();
+
+        private ConnectionInfo(String sessionId,
+                Consumer<AbstractClientMessage> sender,
+                Runnable closeConnection) {
+            this.sessionId = sessionId;
+            this.sender = sender;
+            this.closeConnection = closeConnection;
+        }
+    }
+
     private final EndpointInvoker endpointInvoker;
 
     /*
@@ -72,6 +110,65 @@ public class PushMessageHandler {
      */
     ConcurrentHashMap<String, ConcurrentHashMap<String, SubscriptionInfo>> fluxSubscriptionInfos = new ConcurrentHashMap<>();
 
+    // The open connections, by connection id
+    private final ConcurrentHashMap<String, ConnectionInfo> connectionInfos = new ConcurrentHashMap<>();
+
+    // The ids of the open connections, by HTTP session id
+    private final ConcurrentHashMap<String, Set<String>> sessionConnections = new ConcurrentHashMap<>();
+
+    /**
+     * An item emitted by a flux, with the time of its emission, when metrics
+     * are enabled.
+     */
+    private record EmittedItem(Object item, long emittedAt) {
+    }
+
+    /**
+     * Identifies the flux of a {@link SharedFlux} endpoint method call.
+     */
+    private record SharedFluxKey(String endpointName, String methodName,
+            String params, String user) {
+    }
+
+    /*
+     * The fluxes of SharedFlux methods that have active subscriptions, removed
+     * when the last subscription ends. The subscriptions are counted in the
+     * entries, so that an entry is removed and joined atomically.
+     */
+    final ConcurrentHashMap<SharedFluxKey, SharedFluxEntry> sharedFluxes = new ConcurrentHashMap<>();
+
+    /**
+     * A flux shared by the subscriptions of a SharedFlux method. It is
+     * connected to the flux returned by the method on the first subscription,
+     * and never again once the last one has ended.
+     */
+    static final class SharedFluxEntry {
+        private final Flux<Object> upstream;
+        private final Flux<Object> shared;
+        private volatile Disposable connection;
+        // Guarded by the compute methods of the map
+        private int subscriptions;
+
+        private SharedFluxEntry(Flux<Object> upstream, boolean replayLatest) {
+            this.upstream = upstream;
+            var connectable = replayLatest ? upstream.replay(1)
+                    : upstream.publish();
+            this.shared = connectable.autoConnect(1,
+                    connection -> this.connection = connection);
+        }
+    }
+
+    // The update batchers of the connections, when batching is enabled
+    private final ConcurrentHashMap<String, PushUpdateBatcher> updateBatchers = new ConcurrentHashMap<>();
+    private int batchMaxUpdates = 1;
+    private long batchMaxDelayMillis;
+    private volatile PushMetrics metrics = PushMetrics.NONE;
+    private long heartbeatIntervalNanos;
+    private long idleTimeoutNanos;
+    private Disposable heartbeat;
+    private int maxSubscriptionsPerConnection;
+    private int maxConnectionsPerSession;
+
     @Autowired
     private ServletContext servletContext;
 
@@ -85,6 +182,97 @@ public class PushMessageHandler {
         this.endpointInvoker = endpointInvoker;
     }
 
+    /**
+     * Enables sending the updates of all subscriptions of a connection in
+     * batches. A batch is sent when it has {@code maxUpdates} updates, or when
+     * {@code maxDelayMillis} milliseconds have passed since its first update.
+     *
+     * @param maxUpdates
+     *            the maximum number of updates in a batch, {@code 1} to
+     *            disable batching
+     * @param maxDelayMillis
+     *            the maximum time an update waits for other updates, in
+     *            milliseconds
+     */
+    public void setUpdateBatching(int maxUpdates, long maxDelayMillis) {
+        this.batchMaxUpdates = Math.max(1, maxUpdates);
+        this.batchMaxDelayMillis = Math.max(0, maxDelayMillis);
+    }
+
+    /**
+     * Sets the metrics that receive the events of the push connections and
+     * subscriptions.
+     *
+     * @param metrics
+     *            the metrics, or {@link PushMetrics#NONE} to record nothing
+     */
+    public void setMetrics(PushMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    PushMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts checking the liveness of the connections periodically. Every
+     * {@code intervalMillis} milliseconds, the connections that have not
+     * received any message during the interval are pinged, and those that
+     * have not received any message for {@code idleTimeoutMillis}
+     * milliseconds are closed, disposing their subscriptions.
+     * <p>
+     * The idle timeout is at least twice the interval, so that a client always
+     * gets a ping, and time to answer it, before its connection is closed.
+     * Pings are written and idle connections are closed in separate tasks
+     * for each connection, on threads that allow blocking, so that a slow
+     * connection does not delay the others.
+     *
+     * @param intervalMillis
+     *            the heartbeat interval in milliseconds, {@code 0} to disable
+     *            the heartbeat
+     * @param idleTimeoutMillis
+     *            the time in milliseconds after which an idle connection is
+     *            closed
+     */
+    public synchronized void setHeartbeat(long intervalMillis,
+            long idleTimeoutMillis) {
+        stopHeartbeat();
+        heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        idleTimeoutNanos = TimeUnit.MILLISECONDS
+                .toNanos(Math.max(2 * intervalMillis, idleTimeoutMillis));
+        if (intervalMillis > 0) {
+            heartbeat = Schedulers.boundedElastic().schedulePeriodically(
+                    () -> checkConnections(System.nanoTime()), intervalMillis,
+                    intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    synchronized void stopHeartbeat() {
+        if (heartbeat != null) {
+            heartbeat.dispose();
+            heartbeat = null;
+        }
+    }
+
+    /**
+     * Sets the limits that protect the server from clients opening too many
+     * subscriptions or connections.
+     *
+     * @param maxSubscriptionsPerConnection
+     *            the maximum number of active subscriptions in a connection,
+     *            {@code 0} for no limit
+     * @param maxConnectionsPerSession
+     *            the maximum number of open connections of an HTTP session,
+     *            {@code 0} for no limit
+     */
+    public void setLimits(int maxSubscriptionsPerConnection,
+            int maxConnectionsPerSession) {
+        this.maxSubscriptionsPerConnection = Math.max(0,
+                maxSubscriptionsPerConnection);
+        this.maxConnectionsPerSession = Math.max(0, maxConnectionsPerSession);
+    }
+
     /**
      * Handles the message.
      *
@@ -98,6 +286,14 @@ public class PushMessageHandler {
     public void handleMessage(String connectionId,
             AbstractServerMessage message,
             Consumer<AbstractClientMessage> sender) {
+        ConnectionInfo connectionInfo = connectionInfos.get(connectionId);
+        if (connectionInfo != null) {
+            connectionInfo.lastActivity = System.nanoTime();
+        }
+        if (message instanceof PongMessage) {
+            // Only shows that the connection is alive
+            return;
+        }
         if (message instanceof SubscribeMessage) {
             handleBrowserSubscribe(connectionId, (SubscribeMessage) message,
                     sender);
@@ -114,7 +310,12 @@ public class PushMessageHandler {
             SubscribeMessage message, Consumer<AbstractClientMessage> sender) {
         String fluxId = message.getId();
 
-        if (fluxSubscriptionInfos.get(connectionId).containsKey(fluxId)) {
+        Reservation reservation = reserveSubscription(connectionId, fluxId);
+        if (reservation == Reservation.CONNECTION_CLOSED) {
+            // The connection has already been closed
+            return;
+        }
+        if (reservation == Reservation.DUPLICATE) {
             String msg = "A subscription for flux id " + fluxId
                     + " already exists";
             getLogger().error(msg);
@@ -122,6 +323,71 @@ public class PushMessageHandler {
             // then abort the real flux id
             return;
         }
+        if (reservation == Reservation.LIMIT_REACHED) {
+            sender.accept(new ClientMessageError(fluxId,
+                    "Too many subscriptions in the connection, the limit is "
+                            + maxSubscriptionsPerConnection));
+            return;
+        }
+        ConcurrentHashMap<String, SubscriptionInfo> subscriptions = fluxSubscriptionInfos
+                .get(connectionId);
+        boolean subscribed = false;
+        try {
+            subscribed = subscribe(connectionId, fluxId, message, sender,
+                    subscriptions);
+        } finally {
+            if (!subscribed && subscriptions != null) {
+                subscriptions.remove(fluxId, RESERVED);
+            }
+        }
+    }
+
+    /**
+     * The outcomes of reserving a subscription id in a connection.
+     */
+    private enum Reservation {
+        RESERVED, CONNECTION_CLOSED, DUPLICATE, LIMIT_REACHED
+    }
+
+    /**
+     * Reserves the given subscription id in the subscriptions of the given
+     * connection, checking the id and the subscription limit atomically, so
+     * that concurrent subscribe messages cannot exceed the limit.
+     */
+    private Reservation reserveSubscription(String connectionId,
+            String fluxId) {
+        var reservation = new AtomicReference<>(
+                Reservation.CONNECTION_CLOSED);
+        fluxSubscriptionInfos.computeIfPresent(connectionId,
+                (id, subscriptions) -> {
+                    if (subscriptions.containsKey(fluxId)) {
+                        reservation.set(Reservation.DUPLICATE);
+                    } else if (maxSubscriptionsPerConnection > 0
+                            && subscriptions
+                                    .size() >= maxSubscriptionsPerConnection) {
+                        reservation.set(Reservation.LIMIT_REACHED);
+                    } else {
+                        subscriptions.put(fluxId, RESERVED);
+                        reservation.set(Reservation.RESERVED);
+                    }
+                    return subscriptions;
+                });
+        return reservation.get();
+    }
+
+    /**
+     * Subscribes to the flux of the endpoint method, replacing the reserved
+     * subscription info.
+     *
+     * @return {@code true} if the subscription was stored, {@code false} if
+     *         it failed and the reservation should be released
+     */
+    private boolean subscribe(String connectionId, String fluxId,
+            SubscribeMessage message, Consumer<AbstractClientMessage> sender,
+            ConcurrentHashMap<String, SubscriptionInfo> subscriptions) {
+        if (subscriptions == null) {
+            return false;
+        }
 
         Class<?> returnType = endpointInvoker.getReturnType(
                 message.getEndpointName(), message.getMethodName());
@@ -130,7 +396,7 @@ public class PushMessageHandler {
             sender.accept(new ClientMessageError(fluxId, "Method "
                     + message.getEndpointName() + "/" + message.getMethodName()
                     + " is not a Flux nor EndpointSubscription method"));
-            return;
+            return false;
         }
 
         ArrayNode paramsArray = message.getParams();
@@ -145,9 +411,17 @@ public class PushMessageHandler {
                 .getSecurityHolderRoleChecker();
 
         try {
-            Object returnValue = endpointInvoker.invoke(
-                    message.getEndpointName(), message.getMethodName(),
-                    paramsObject, principal, isInRole);
+            SharedFlux sharedFlux = returnType == Flux.class
+                    ? endpointInvoker.getMethodAnnotation(
+                            message.getEndpointName(), message.getMethodName(),
+                            SharedFlux.class)
+                    : null;
+            Object returnValue = sharedFlux != null
+                    ? getSharedFlux(message, paramsObject, principal, isInRole,
+                            sharedFlux)
+                    : endpointInvoker.invoke(message.getEndpointName(),
+                            message.getMethodName(), paramsObject, principal,
+                            isInRole);
 
             Flux<?> flux;
             Runnable unsubscribeHandler = null;
@@ -159,46 +433,166 @@ public class PushMessageHandler {
                 flux = (Flux<?>) returnValue;
             }
 
+            PushUpdateBatcher updateBatcher = getUpdateBatcher(connectionId,
+                    sender);
+            Consumer<AbstractClientMessage> fluxSender = updateBatcher != null
+                    ? updateBatcher::send
+                    : sender;
             CompletableFuture<Void> waitForSubscriptionData = new CompletableFuture<>();
-            Disposable endpointFluxSubscriber = flux.subscribe(item -> {
-                send(sender, new ClientMessageUpdate(fluxId, item));
-            }, error -> {
-                // An exception was thrown from the Flux
-
-                // Ensure that the subscription data has been stored before it
-                // is used
-                waitForSubscriptionData.whenComplete((a, b) -> {
-                    disposeSubscriptionInfo(connectionId, fluxId, false);
-                    send(sender, new ClientMessageError(fluxId,
-                            "Exception in Flux"));
-                    getLogger().error("Exception in Flux", error);
-                });
-            }, () -> {
-                // Flux completed
-
-                // Ensure that the subscription data has been stored before it
-                // is used
-                waitForSubscriptionData.whenComplete((a, b) -> {
-                    disposeSubscriptionInfo(connectionId, fluxId, false);
-                    send(sender, new ClientMessageComplete(fluxId));
-                });
-            });
-
-            fluxSubscriptionInfos.get(connectionId).put(fluxId,
-                    new SubscriptionInfo(endpointFluxSubscriber,
-                            unsubscribeHandler));
-            waitForSubscriptionData.complete(null);
-
+            PushDelivery delivery = endpointInvoker.getMethodAnnotation(
+                    message.getEndpointName(), message.getMethodName(),
+                    PushDelivery.class);
+            BiConsumer<Object, Runnable> onItem = (item,
+                    onSent) -> sendUpdate(updateBatcher, sender,
+                            new ClientMessageUpdate(fluxId, item), onSent);
+            PushMetrics metrics = this.metrics;
+            if (metrics.isEnabled()) {
+                // Timestamps the items before the delivery policy, so that
+                // the time they wait for the client is included
+                BiConsumer<Object, Runnable> sendItem = onItem;
+                flux = flux.map(
+                        item -> new EmittedItem(item, System.nanoTime()));
+                onItem = (emitted, onSent) -> {
+                    EmittedItem item = (EmittedItem) emitted;
+                    sendItem.accept(item.item(), () -> {
+                        metrics.itemSent(message.getEndpointName(),
+                                message.getMethodName(),
+                                System.nanoTime() - item.emittedAt());
+                        onSent.run();
+                    });
+                };
+            }
+            Disposable endpointFluxSubscriber = PushDeliverySubscriber
+                    .subscribe(flux, delivery, onItem, error -> {
+                        // An exception was thrown from the Flux
+
+                        // Ensure that the subscription data has been stored
+                        // before it is used
+                        waitForSubscriptionData.whenComplete((a, b) -> {
+                            disposeSubscriptionInfo(connectionId, fluxId,
+                                    false, PushMetrics.SubscriptionEnd.ERROR);
+                            send(fluxSender, new ClientMessageError(fluxId,
+                                    "Exception in Flux"));
+                            getLogger().error("Exception in Flux", error);
+                        });
+                    }, () -> {
+                        // Flux completed
+
+                        // Ensure that the subscription data has been stored
+                        // before it is used
+                        waitForSubscriptionData.whenComplete((a, b) -> {
+                            disposeSubscriptionInfo(connectionId, fluxId,
+                                    false,
+                                    PushMetrics.SubscriptionEnd.COMPLETED);
+                            send(fluxSender,
+                                    new ClientMessageComplete(fluxId));
+                        });
+                    });
+
+            metrics.subscriptionStarted(message.getEndpointName(),
+                    message.getMethodName());
+            SubscriptionInfo subscriptionInfo = new SubscriptionInfo(
+                    endpointFluxSubscriber, unsubscribeHandler,
+                    message.getEndpointName(), message.getMethodName());
+            if (!subscriptions.replace(fluxId, RESERVED, subscriptionInfo)) {
+                // Unsubscribed or disconnected while subscribing
+                dispose(subscriptionInfo, true,
+                        PushMetrics.SubscriptionEnd.CANCELLED);
+            }
             waitForSubscriptionData.complete(null);
+            return true;
         } catch (EndpointNotFoundException e) {
             sender.accept(new ClientMessageError(fluxId, "No such endpoint"));
-            return;
+            return false;
         } catch (EndpointAccessDeniedException | EndpointBadRequestException
                 | EndpointInternalException e) {
             sender.accept(new ClientMessageError(fluxId, e.getMessage()));
-            return;
+            return false;
         }
+    }
+
+    private Flux<Object> getSharedFlux(SubscribeMessage message,
+            ObjectNode paramsObject, Principal principal,
+            Function<String, Boolean> isInRole, SharedFlux sharedFlux)
+            throws EndpointNotFoundException, EndpointAccessDeniedException,
+            EndpointBadRequestException, EndpointInternalException {
+        // Each subscription must have access, even if it does not invoke the
+        // method
+        endpointInvoker.checkAccess(message.getEndpointName(),
+                message.getMethodName(), principal, isInRole);
+
+        String user = sharedFlux.scope() == SharedFlux.Scope.APPLICATION
+                || principal == null ? "" : principal.getName();
+        var key = new SharedFluxKey(
+                message.getEndpointName().toLowerCase(Locale.ENGLISH),
+                message.getMethodName().toLowerCase(Locale.ENGLISH),
+                message.getParams().toString(), user);
+        // The flux of an existing entry is reused, so that the method is only
+        // invoked again if that entry ends before this subscription joins it
+        SharedFluxEntry existing = sharedFluxes.get(key);
+        Flux<Object> upstream = existing != null ? existing.upstream
+                : ((Flux<?>) endpointInvoker.invoke(message.getEndpointName(),
+                        message.getMethodName(), paramsObject, principal,
+                        isInRole)).cast(Object.class);
+        boolean replayLatest = sharedFlux.replayLatest();
+        return Flux.defer(() -> {
+            SharedFluxEntry entry = sharedFluxes.compute(key,
+                    (k, current) -> {
+                        SharedFluxEntry joined = current != null ? current
+                                : new SharedFluxEntry(upstream, replayLatest);
+                        joined.subscriptions++;
+                        return joined;
+                    });
+            return entry.shared
+                    .doFinally(signal -> releaseSharedFlux(key, entry));
+        });
+    }
+
+    private void releaseSharedFlux(SharedFluxKey key, SharedFluxEntry entry) {
+        var ended = new AtomicBoolean();
+        sharedFluxes.computeIfPresent(key, (k, current) -> {
+            if (current != entry || --current.subscriptions > 0) {
+                return current;
+            }
+            ended.set(true);
+            return null;
+        });
+        if (ended.get()) {
+            Disposable connection = entry.connection;
+            if (connection != null) {
+                connection.dispose();
+            }
+        }
+    }
 
+    private PushUpdateBatcher getUpdateBatcher(String connectionId,
+            Consumer<AbstractClientMessage> sender) {
+        if (batchMaxUpdates <= 1) {
+            return null;
+        }
+        // All subscriptions of the connection share the batcher, which sends
+        // through the connection of the first subscription
+        return updateBatchers.computeIfAbsent(connectionId,
+                id -> new PushUpdateBatcher(sender, batchMaxUpdates,
+                        batchMaxDelayMillis, Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Sends an update, running the given callback once it has been written or,
+     * if updates are batched, collected in a batch that has room for more.
+     */
+    private void sendUpdate(PushUpdateBatcher updateBatcher,
+            Consumer<AbstractClientMessage> sender,
+            ClientMessageUpdate update, Runnable onSent) {
+        if (updateBatcher != null) {
+            updateBatcher.send(update, onSent);
+            return;
+        }
+        try {
+            sender.accept(update);
+        } finally {
+            onSent.run();
+        }
     }
 
     private void send(Consumer<AbstractClientMessage> sender,
@@ -216,7 +610,104 @@ public class PushMessageHandler {
      *            the id of the connection
      */
     public void handleBrowserConnect(String connectionId) {
+        handleBrowserConnect(connectionId, null, null, null);
+    }
+
+    /**
+     * Called when the browser establishes a new connection.
+     *
+     * Only ever called once for the same connectionId parameter. The
+     * connection is rejected if its session already has the maximum number of
+     * connections.
+     *
+     * @param connectionId
+     *            the id of the connection
+     * @param sessionId
+     *            the id of the HTTP session of the connection, or {@code null}
+     *            if there is none
+     * @param sender
+     *            a method that sends a message to the client, used for the
+     *            heartbeat, or {@code null} to not ping the client
+     * @param closeConnection
+     *            closes the connection when it is idle for too long, or
+     *            {@code null} to only dispose its subscriptions
+     * @return {@code true} if the connection was accepted, {@code false} if
+     *         it was rejected and should be closed
+     */
+    public boolean handleBrowserConnect(String connectionId, String sessionId,
+            Consumer<AbstractClientMessage> sender, Runnable closeConnection) {
+        if (sessionId != null && !addSessionConnection(sessionId,
+                connectionId)) {
+            return false;
+        }
+        connectionInfos.put(connectionId,
+                new ConnectionInfo(sessionId, sender, closeConnection));
         fluxSubscriptionInfos.put(connectionId, new ConcurrentHashMap<>());
+        metrics.connectionOpened();
+        return true;
+    }
+
+    private boolean addSessionConnection(String sessionId,
+            String connectionId) {
+        var added = new AtomicBoolean();
+        sessionConnections.compute(sessionId, (id, connectionIds) -> {
+            if (connectionIds == null) {
+                connectionIds = ConcurrentHashMap.newKeySet();
+            }
+            if (maxConnectionsPerSession <= 0
+                    || connectionIds.size() < maxConnectionsPerSession) {
+                added.set(connectionIds.add(connectionId));
+            }
+            return connectionIds.isEmpty() ? null : connectionIds;
+        });
+        return added.get();
+    }
+
+    private void removeSessionConnection(String sessionId,
+            String connectionId) {
+        sessionConnections.computeIfPresent(sessionId, (id, connectionIds) -> {
+            connectionIds.remove(connectionId);
+            return connectionIds.isEmpty() ? null : connectionIds;
+        });
+    }
+
+    /**
+     * Pings the connections that have been idle for a heartbeat interval, and
+     * closes those that have been idle for longer than the idle timeout.
+     *
+     * @param now
+     *            the current {@link System#nanoTime()}
+     */
+    void checkConnections(long now) {
+        connectionInfos.forEach((connectionId, connectionInfo) -> {
+            long idle = now - connectionInfo.lastActivity;
+            if (idle >= idleTimeoutNanos) {
+                getLogger().debug("Closing idle push connection {}",
+                        connectionId);
+                handleBrowserDisconnect(connectionId);
+                if (connectionInfo.closeConnection != null) {
+                    // Closing may block on the network
+                    Schedulers.boundedElastic()
+                            .schedule(connectionInfo.closeConnection);
+                }
+            } else if (idle >= heartbeatIntervalNanos
+                    && connectionInfo.sender != null) {
+                // Writes are blocking, so each connection is pinged on its
+                // own, outside of the sweep
+                Schedulers.boundedElastic()
+                        .schedule(() -> ping(connectionId, connectionInfo));
+            }
+        });
+    }
+
+    private void ping(String connectionId, ConnectionInfo connectionInfo) {
+        try {
+            connectionInfo.sender.accept(new ClientMessagePing());
+        } catch (RuntimeException e) {
+            // The connection will be closed when it times out
+            getLogger().debug("Unable to ping push connection {}",
+                    connectionId, e);
+        }
     }
 
     /**
@@ -229,13 +720,23 @@ public class PushMessageHandler {
      *            the id of the connection
      */
     public void handleBrowserDisconnect(String connectionId) {
+        long start = System.nanoTime();
+        ConnectionInfo connectionInfo = connectionInfos.remove(connectionId);
+        if (connectionInfo != null && connectionInfo.sessionId != null) {
+            removeSessionConnection(connectionInfo.sessionId, connectionId);
+        }
         disposeConnectionInfo(connectionId, true);
+        if (connectionInfo != null) {
+            // Not recorded again when a closed idle connection disconnects
+            metrics.connectionClosed(System.nanoTime() - start);
+        }
     }
 
     private void handleBrowserUnsubscribe(String connectionId,
             UnsubscribeMessage message) {
         String fluxId = message.getId();
-        disposeSubscriptionInfo(connectionId, fluxId, true);
+        disposeSubscriptionInfo(connectionId, fluxId, true,
+                PushMetrics.SubscriptionEnd.CANCELLED);
     }
 
     /**
@@ -249,11 +750,16 @@ public class PushMessageHandler {
      */
     private void disposeConnectionInfo(String connectionId,
             boolean invokeUnsubscribeListener) {
+        PushUpdateBatcher updateBatcher = updateBatchers.remove(connectionId);
+        if (updateBatcher != null) {
+            updateBatcher.dispose();
+        }
         ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
                 .remove(connectionId);
         if (fluxMap != null) {
             fluxMap.forEach((cid, subscriptionInfo) -> {
-                dispose(subscriptionInfo, invokeUnsubscribeListener);
+                dispose(subscriptionInfo, invokeUnsubscribeListener,
+                        PushMetrics.SubscriptionEnd.DROPPED);
             });
         }
     }
@@ -268,22 +774,33 @@ public class PushMessageHandler {
      *            the subscription id
      * @param invokeUnsubscribeListener
      *            true to invoke any unsubscribe listeners, false to ignore them
+     * @param reason
+     *            the reason for the subscription to end
      */
     private void disposeSubscriptionInfo(String connectionId,
-            String subscriptionId, boolean invokeUnsubscribeListener) {
+            String subscriptionId, boolean invokeUnsubscribeListener,
+            PushMetrics.SubscriptionEnd reason) {
         ConcurrentHashMap<String, SubscriptionInfo> fluxMap = fluxSubscriptionInfos
                 .get(connectionId);
         if (fluxMap != null) {
             SubscriptionInfo subscriptionInfo = fluxMap.remove(subscriptionId);
             if (subscriptionInfo != null) {
-                dispose(subscriptionInfo, invokeUnsubscribeListener);
+                dispose(subscriptionInfo, invokeUnsubscribeListener, reason);
             }
         }
     }
 
     private void dispose(SubscriptionInfo subscriptionInfo,
-            boolean invokeUnsubscribeListener) {
+            boolean invokeUnsubscribeListener,
+            PushMetrics.SubscriptionEnd reason) {
+        if (subscriptionInfo == RESERVED) {
+            // The subscription is replaced when it is stored, and disposed
+            // then if the reservation has been removed in the meantime
+            return;
+        }
         subscriptionInfo.getFluxSubscriptionDisposable().dispose();
+        metrics.subscriptionEnded(subscriptionInfo.endpointName,
+                subscriptionInfo.methodName, reason);
         if (invokeUnsubscribeListener) {
             Runnable unsubscribeHandler = subscriptionInfo
                     .getUnsubscribeHandler();
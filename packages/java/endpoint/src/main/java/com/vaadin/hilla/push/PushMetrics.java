@@ -0,0 +1,113 @@
+package com.vaadin.hilla.push;
+
+/**
+ * Receives the events of the push subsystem that are relevant for
+ * monitoring it.
+ * <p>
+ * All methods do nothing by default. {@link MicrometerPushMetrics} records
+ * the events as Micrometer meters, and is used when Micrometer is on the
+ * classpath and a {@code MeterRegistry} bean is available.
+ */
+public interface PushMetrics {
+
+    /**
+     * A push metrics instance that records nothing.
+     */
+    PushMetrics NONE = new PushMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * The reasons for a subscription to end.
+     */
+    enum SubscriptionEnd {
+        /** The flux completed. */
+        COMPLETED,
+        /** The client unsubscribed. */
+        CANCELLED,
+        /** The flux failed. */
+        ERROR,
+        /** The connection was lost while the subscription was active. */
+        DROPPED
+    }
+
+    /**
+     * Whether events are recorded. When not, the push subsystem skips
+     * measuring them.
+     *
+     * @return {@code true} if events are recorded
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called when a client opens a push connection.
+     */
+    default void connectionOpened() {
+    }
+
+    /**
+     * Called when a push connection has been closed and its subscriptions
+     * have been disposed.
+     *
+     * @param cleanupNanos
+     *            the time spent disposing the subscriptions, in nanoseconds
+     */
+    default void connectionClosed(long cleanupNanos) {
+    }
+
+    /**
+     * Called when a subscription to an endpoint method starts.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method
+     */
+    default void subscriptionStarted(String endpointName, String methodName) {
+    }
+
+    /**
+     * Called when a subscription to an endpoint method ends.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method
+     * @param reason
+     *            the reason for the subscription to end
+     */
+    default void subscriptionEnded(String endpointName, String methodName,
+            SubscriptionEnd reason) {
+    }
+
+    /**
+     * Called when an item of a subscription has been sent to the client.
+     *
+     * @param endpointName
+     *            the name of the endpoint
+     * @param methodName
+     *            the name of the method
+     * @param latencyNanos
+     *            the time from the emission of the item by the flux until it
+     *            was written to the connection, in nanoseconds
+     */
+    default void itemSent(String endpointName, String methodName,
+            long latencyNanos) {
+    }
+
+    /**
+     * Called when a message has been written to a push connection.
+     *
+     * @param serializationNanos
+     *            the time spent serializing the message, in nanoseconds
+     * @param bytes
+     *            the size of the serialized message, in bytes
+     */
+    default void messageWritten(long serializationNanos, long bytes) {
+    }
+}
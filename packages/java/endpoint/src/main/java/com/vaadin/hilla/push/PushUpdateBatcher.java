@@ -0,0 +1,148 @@
+package com.vaadin.hilla.push;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import reactor.core.scheduler.Scheduler;
+
+import com.vaadin.hilla.push.messages.toclient.AbstractClientMessage;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageBatch;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageUpdate;
+
+/**
+ * Collects the update messages sent through one push connection and sends
+ * them in batches.
+ * <p>
+ * A batch is sent when it reaches the maximum number of updates, or when the
+ * maximum delay has passed since its first update was collected. Other
+ * messages are sent immediately, after the pending updates, so that the
+ * order of the messages of each subscription is kept. The callback given with
+ * an update is run as soon as the update has been collected if there is room
+ * for more updates in the batch, and otherwise once the full batch has been
+ * written, so that subscriptions requesting items one at a time are only held
+ * back when the batch is full.
+ */
+class PushUpdateBatcher {
+    private final Consumer<AbstractClientMessage> sender;
+    private final int maxUpdates;
+    private final long maxDelayMillis;
+    private final Scheduler scheduler;
+
+    private final List<ClientMessageUpdate> pendingUpdates = new ArrayList<>();
+    // Identifies the current batch, so that delayed flushes of batches that
+    // have already been sent are ignored
+    private long batchNumber;
+    private boolean flushScheduled;
+    private boolean disposed;
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param sender
+     *            sends a message to the client
+     * @param maxUpdates
+     *            the maximum number of updates in a batch
+     * @param maxDelayMillis
+     *            the maximum time an update waits for other updates, in
+     *            milliseconds
+     * @param scheduler
+     *            the scheduler used to send batches after the delay
+     */
+    PushUpdateBatcher(Consumer<AbstractClientMessage> sender, int maxUpdates,
+            long maxDelayMillis, Scheduler scheduler) {
+        this.sender = sender;
+        this.maxUpdates = maxUpdates;
+        this.maxDelayMillis = maxDelayMillis;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sends the given message, collecting it in the current batch if it is an
+     * update.
+     *
+     * @param message
+     *            the message to send
+     */
+    void send(AbstractClientMessage message) {
+        send(message, null);
+    }
+
+    /**
+     * Sends the given message, collecting it in the current batch if it is an
+     * update, and runs the given callback once the message has been collected
+     * or written. The callback of the update that fills the batch is run after
+     * the batch has been written. The callback is not run if the batcher is
+     * disposed.
+     *
+     * @param message
+     *            the message to send
+     * @param onSent
+     *            called once the message has been written, or {@code null}
+     */
+    synchronized void send(AbstractClientMessage message, Runnable onSent) {
+        if (disposed) {
+            return;
+        }
+        if (!(message instanceof ClientMessageUpdate)) {
+            flush();
+            try {
+                sender.accept(message);
+            } finally {
+                if (onSent != null) {
+                    onSent.run();
+                }
+            }
+            return;
+        }
+
+        pendingUpdates.add((ClientMessageUpdate) message);
+        try {
+            if (pendingUpdates.size() >= maxUpdates) {
+                flush();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                long batch = batchNumber;
+                scheduler.schedule(() -> flushAfterDelay(batch),
+                        maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            if (onSent != null) {
+                onSent.run();
+            }
+        }
+    }
+
+    /**
+     * Sends the pending updates, if any.
+     */
+    synchronized void flush() {
+        flushScheduled = false;
+        batchNumber++;
+        if (disposed || pendingUpdates.isEmpty()) {
+            return;
+        }
+
+        AbstractClientMessage message = pendingUpdates.size() == 1
+                ? pendingUpdates.get(0)
+                : new ClientMessageBatch(List.copyOf(pendingUpdates));
+        pendingUpdates.clear();
+        sender.accept(message);
+    }
+
+    private synchronized void flushAfterDelay(long batch) {
+        if (batch == batchNumber) {
+            flush();
+        }
+    }
+
+    /**
+     * Discards the pending updates and stops sending messages, when the
+     * connection has been closed.
+     */
+    synchronized void dispose() {
+        disposed = true;
+        pendingUpdates.clear();
+    }
+}
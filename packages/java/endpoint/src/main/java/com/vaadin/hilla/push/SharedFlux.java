@@ -0,0 +1,57 @@
+package com.vaadin.hilla.push;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the {@code Flux} returned by an endpoint method as shareable between
+ * the push subscriptions that call the method with the same parameters.
+ * <p>
+ * The method is invoked for the first such subscription only, and its flux is
+ * multicast to all the subscriptions. The flux is cancelled when the last
+ * subscription is cancelled, and the method is invoked again for the next
+ * subscription. Access to the method is still checked for each subscription.
+ * <p>
+ * Only applies to methods returning a {@code Flux}; methods returning an
+ * {@link com.vaadin.hilla.EndpointSubscription} are invoked for each
+ * subscription.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SharedFlux {
+
+    /**
+     * The scopes in which a flux can be shared.
+     */
+    enum Scope {
+        /**
+         * The flux is shared between the subscriptions of the same user only.
+         */
+        USER,
+        /**
+         * The flux is shared between all subscriptions, regardless of the
+         * user. Only suitable for methods that return the same items for all
+         * users.
+         */
+        APPLICATION
+    }
+
+    /**
+     * The scope in which the flux is shared.
+     *
+     * @return the scope
+     */
+    Scope scope() default Scope.USER;
+
+    /**
+     * Whether the latest item of the flux is sent to subscriptions that join
+     * after it was emitted.
+     *
+     * @return {@code true} to replay the latest item to new subscriptions
+     */
+    boolean replayLatest() default false;
+}
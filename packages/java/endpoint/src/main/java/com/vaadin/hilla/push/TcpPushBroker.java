@@ -0,0 +1,350 @@
+package com.vaadin.hilla.push;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+/**
+ * A reference {@link PushBroker} that sends the events to the other nodes of
+ * a cluster over plain TCP connections.
+ * <p>
+ * Each node listens on its own address and connects to the addresses of all
+ * the other nodes, which are given up front. An event published on a node is
+ * delivered to the subscribers of that node, and queued for every other node,
+ * which delivers it to its own subscribers. Each node is sent its events by
+ * its own thread, so a slow or unreachable node does not delay the others or
+ * the publisher. The events for a node that cannot be reached are dropped,
+ * and the node is connected to again after a delay that grows with each
+ * failed attempt.
+ * <p>
+ * The connections are neither encrypted nor authenticated: any client that
+ * can connect to a node can publish events on it. By default, nodes listen on
+ * the loopback address, which makes it possible to run several nodes on one
+ * machine. Listening on another address must be requested explicitly, and is
+ * only safe on a trusted network. At most {@value #MAX_ACCEPTED_CONNECTIONS}
+ * connections from other nodes are accepted at the same time.
+ */
+public class TcpPushBroker implements PushBroker, Closeable {
+    /**
+     * The maximum number of connections accepted from other nodes at the same
+     * time. Further connections are closed immediately.
+     */
+    public static final int MAX_ACCEPTED_CONNECTIONS = 64;
+
+    private static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+    private static final int MAX_QUEUED_EVENTS = 10_000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final int SOCKET_TIMEOUT_MILLIS = 10_000;
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 1_000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    private final InMemoryPushBroker localBroker = new InMemoryPushBroker();
+    private final List<PeerConnection> peerConnections;
+    private final Set<Socket> acceptedSockets = ConcurrentHashMap.newKeySet();
+    private final ServerSocket serverSocket;
+    private volatile boolean closed;
+
+    /**
+     * Creates a broker listening on the given port of the loopback address.
+     *
+     * @param port
+     *            the port to listen on, or {@code 0} to use any free port
+     * @param peers
+     *            the addresses of the other nodes
+     * @throws IOException
+     *             if the port cannot be listened on
+     */
+    public TcpPushBroker(int port, List<InetSocketAddress> peers)
+            throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                peers);
+    }
+
+    /**
+     * Creates a broker listening on the given address.
+     * <p>
+     * As the connections are not authenticated, listening on an address that
+     * is reachable from other machines lets anyone on the network publish
+     * events, so it must only be done on a trusted network. A warning is
+     * logged when the address is not a loopback address.
+     *
+     * @param bindAddress
+     *            the address to listen on
+     * @param peers
+     *            the addresses of the other nodes
+     * @throws IOException
+     *             if the address cannot be listened on
+     */
+    public TcpPushBroker(InetSocketAddress bindAddress,
+            List<InetSocketAddress> peers) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(bindAddress);
+        if (!serverSocket.getInetAddress().isLoopbackAddress()) {
+            getLogger().warn(
+                    "The push broker listens on {}, and accepts unauthenticated"
+                            + " events from any client that can connect to it."
+                            + " Make sure that only the other nodes of the"
+                            + " cluster can reach this address.",
+                    getLocalAddress());
+        }
+        peerConnections = peers.stream().map(PeerConnection::new).toList();
+        peerConnections.forEach(peer -> startThread(peer::writeEvents,
+                "hilla-push-broker-" + peer.address));
+        startThread(this::acceptConnections, "hilla-push-broker-accept");
+    }
+
+    /**
+     * Gets the address this broker listens on, to be given to the other nodes.
+     *
+     * @return the local address
+     */
+    public InetSocketAddress getLocalAddress() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    @Override
+    public void publish(String topic, String event) {
+        localBroker.publish(topic, event);
+        if (closed) {
+            return;
+        }
+        for (PeerConnection peer : peerConnections) {
+            peer.enqueue(topic, event);
+        }
+    }
+
+    @Override
+    public Flux<String> subscribe(String topic) {
+        return localBroker.subscribe(topic);
+    }
+
+    /**
+     * Stops listening and closes all connections to the other nodes.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (PeerConnection peer : peerConnections) {
+            peer.close();
+        }
+        for (Socket socket : acceptedSockets) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (acceptedSockets.size() >= MAX_ACCEPTED_CONNECTIONS) {
+                    getLogger().warn(
+                            "Rejecting push broker connection from {}, there are already {} connections",
+                            socket.getRemoteSocketAddress(),
+                            MAX_ACCEPTED_CONNECTIONS);
+                    closeQuietly(socket);
+                    continue;
+                }
+                acceptedSockets.add(socket);
+                startThread(() -> readEvents(socket),
+                        "hilla-push-broker-" + socket.getRemoteSocketAddress());
+            } catch (IOException e) {
+                if (!closed) {
+                    getLogger().warn(
+                            "Unable to accept a push broker connection", e);
+                }
+            }
+        }
+    }
+
+    private void readEvents(Socket socket) {
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(socket.getInputStream()))) {
+            while (!closed) {
+                String topic = readFrame(input);
+                String event = readFrame(input);
+                localBroker.publish(topic, event);
+            }
+        } catch (EOFException | SocketException e) {
+            // The other node has disconnected, or this broker was closed
+        } catch (IOException e) {
+            getLogger().warn("Unable to read push events from {}",
+                    socket.getRemoteSocketAddress(), e);
+        } finally {
+            acceptedSockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void writeFrame(DataOutputStream output, String value)
+            throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readFrame(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid push event length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void startThread(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing to do, the connection is not used anymore
+        }
+    }
+
+    private Logger getLogger() {
+        return LoggerFactory.getLogger(getClass());
+    }
+
+    /**
+     * The connection to another node, with the queue of the events to send
+     * to it. Only the writer thread of the node uses the socket.
+     */
+    private final class PeerConnection {
+        private final InetSocketAddress address;
+        private final BlockingQueue<String[]> queue = new ArrayBlockingQueue<>(
+                MAX_QUEUED_EVENTS);
+        private volatile Socket socket;
+        private DataOutputStream output;
+        private long reconnectDelayMillis;
+        private long nextConnectAttempt;
+        private volatile Thread writer;
+
+        private PeerConnection(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        private void enqueue(String topic, String event) {
+            if (!queue.offer(new String[] { topic, event })) {
+                getLogger().debug(
+                        "Dropping a push event for {}, too many events are waiting to be sent",
+                        address);
+            }
+        }
+
+        private void writeEvents() {
+            writer = Thread.currentThread();
+            try {
+                while (!closed) {
+                    String[] event = queue.take();
+                    if (connect()) {
+                        write(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // The broker was closed
+                Thread.currentThread().interrupt();
+            } finally {
+                disconnect();
+            }
+        }
+
+        private boolean connect() {
+            if (output != null) {
+                return true;
+            }
+            long now = System.nanoTime();
+            if (reconnectDelayMillis > 0 && now - nextConnectAttempt < 0) {
+                // Waiting before the next attempt, the event is dropped
+                return false;
+            }
+            Socket newSocket = new Socket();
+            try {
+                newSocket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                newSocket.setTcpNoDelay(true);
+                newSocket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+                socket = newSocket;
+                output = new DataOutputStream(
+                        new BufferedOutputStream(newSocket.getOutputStream()));
+                reconnectDelayMillis = 0;
+                return true;
+            } catch (IOException e) {
+                closeQuietly(newSocket);
+                reconnectDelayMillis = reconnectDelayMillis == 0
+                        ? MIN_RECONNECT_DELAY_MILLIS
+                        : Math.min(reconnectDelayMillis * 2,
+                                MAX_RECONNECT_DELAY_MILLIS);
+                nextConnectAttempt = now + TimeUnit.MILLISECONDS
+                        .toNanos(reconnectDelayMillis);
+                getLogger().warn(
+                        "Unable to connect to push broker node {}, retrying in {} ms",
+                        address, reconnectDelayMillis, e);
+                return false;
+            }
+        }
+
+        private void write(String[] event) {
+            try {
+                writeFrame(output, event[0]);
+                writeFrame(output, event[1]);
+                // Events queued in the meantime are sent in the same flush
+                if (queue.isEmpty()) {
+                    output.flush();
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    getLogger().warn("Unable to send a push event to {}",
+                            address, e);
+                }
+                disconnect();
+            }
+        }
+
+        private void disconnect() {
+            Socket current = socket;
+            socket = null;
+            output = null;
+            if (current != null) {
+                closeQuietly(current);
+            }
+        }
+
+        private void close() {
+            queue.clear();
+            Thread current = writer;
+            if (current != null) {
+                current.interrupt();
+            }
+            // Unblocks a write to an unresponsive node
+            Socket currentSocket = socket;
+            if (currentSocket != null) {
+                closeQuietly(currentSocket);
+            }
+        }
+    }
+}
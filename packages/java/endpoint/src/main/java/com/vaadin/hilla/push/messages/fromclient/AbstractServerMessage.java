@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY)
 @JsonSubTypes({
+        @JsonSubTypes.Type(value = PongMessage.class, name = "pong"),
         @JsonSubTypes.Type(value = SubscribeMessage.class, name = "subscribe"),
         @JsonSubTypes.Type(value = UnsubscribeMessage.class, name = "unsubscribe") })
 public abstract class AbstractServerMessage {
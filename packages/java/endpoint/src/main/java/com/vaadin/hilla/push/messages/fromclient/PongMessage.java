@@ -0,0 +1,5 @@
+package com.vaadin.hilla.push.messages.fromclient;
+
+public class PongMessage extends AbstractServerMessage {
+
+}
@@ -5,8 +5,11 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY)
 @JsonSubTypes({
+        @JsonSubTypes.Type(value = ClientMessageBatch.class, name = "batch"),
         @JsonSubTypes.Type(value = ClientMessageComplete.class, name = "complete"),
         @JsonSubTypes.Type(value = ClientMessageError.class, name = "error"),
+        @JsonSubTypes.Type(value = ClientMessageFormat.class, name = "format"),
+        @JsonSubTypes.Type(value = ClientMessagePing.class, name = "ping"),
         @JsonSubTypes.Type(value = ClientMessageUpdate.class, name = "update") })
 public abstract class AbstractClientMessage {
 
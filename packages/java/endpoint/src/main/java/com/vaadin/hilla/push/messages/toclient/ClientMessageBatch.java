@@ -0,0 +1,29 @@
+package com.vaadin.hilla.push.messages.toclient;
+
+import java.util.List;
+
+public class ClientMessageBatch extends AbstractClientMessage {
+    private List<ClientMessageUpdate> updates;
+
+    public ClientMessageBatch() {
+        super();
+    }
+
+    public ClientMessageBatch(List<ClientMessageUpdate> updates) {
+        super();
+        this.updates = updates;
+    }
+
+    public List<ClientMessageUpdate> getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(List<ClientMessageUpdate> updates) {
+        this.updates = updates;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientMessageBatch [updates=" + updates + "]";
+    }
+}
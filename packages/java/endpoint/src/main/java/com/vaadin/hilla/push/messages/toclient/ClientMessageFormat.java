@@ -0,0 +1,31 @@
+package com.vaadin.hilla.push.messages.toclient;
+
+/**
+ * Tells the client which message format is used for the connection. Sent as
+ * the first message of a connection for which the client requested a format.
+ */
+public class ClientMessageFormat extends AbstractClientMessage {
+    private String format;
+
+    public ClientMessageFormat() {
+        super();
+    }
+
+    public ClientMessageFormat(String format) {
+        super();
+        this.format = format;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientMessageFormat [format=" + format + "]";
+    }
+}
@@ -0,0 +1,12 @@
+package com.vaadin.hilla.push.messages.toclient;
+
+public class ClientMessagePing extends AbstractClientMessage {
+    public ClientMessagePing() {
+        super();
+    }
+
+    @Override
+    public String toString() {
+        return "ClientMessagePing []";
+    }
+}
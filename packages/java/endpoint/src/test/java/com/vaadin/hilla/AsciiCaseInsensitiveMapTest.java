@@ -0,0 +1,67 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsciiCaseInsensitiveMapTest {
+
+    @Test
+    public void get_ignoresAsciiCase() {
+        var map = AsciiCaseInsensitiveMap.of(Map.of("MyEndpoint", 1));
+
+        Assert.assertEquals(Integer.valueOf(1), map.get("MyEndpoint"));
+        Assert.assertEquals(Integer.valueOf(1), map.get("myendpoint"));
+        Assert.assertEquals(Integer.valueOf(1), map.get("MYENDPOINT"));
+        Assert.assertNull(map.get("MyEndpoint2"));
+        Assert.assertNull(map.get(1));
+    }
+
+    @Test
+    public void keysDifferingInCase_lastOneWins() {
+        var source = new LinkedHashMap<String, Integer>();
+        source.put("endpoint", 1);
+        source.put("Other", 2);
+        source.put("ENDPOINT", 3);
+        var map = AsciiCaseInsensitiveMap.of(source);
+
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals(Integer.valueOf(3), map.get("Endpoint"));
+        Assert.assertEquals(Map.of("ENDPOINT", 3, "Other", 2), map);
+    }
+
+    @Test
+    public void manyKeys_areAllFound() {
+        var source = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            source.put("Method" + i, i);
+        }
+        var map = AsciiCaseInsensitiveMap.of(source);
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(Integer.valueOf(i), map.get("method" + i));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void map_isImmutable() {
+        AsciiCaseInsensitiveMap.<Integer> of(Map.of()).put("key", 1);
+    }
+}
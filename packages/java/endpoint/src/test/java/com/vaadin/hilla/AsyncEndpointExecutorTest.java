@@ -0,0 +1,105 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class AsyncEndpointExecutorTest {
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void disabledExecutor_rejectsTasks() {
+        try (var executor = new AsyncEndpointExecutor(false)) {
+            Assert.assertFalse(executor.isEnabled());
+            Assert.assertThrows(IllegalStateException.class,
+                    () -> executor.execute(() -> {
+                    }));
+        }
+    }
+
+    @Test
+    public void enabledExecutor_runsTaskWithSecurityContext()
+            throws Exception {
+        var authentication = new TestingAuthenticationToken("user", null);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        try (var executor = new AsyncEndpointExecutor(true)) {
+            Assert.assertTrue(executor.isEnabled());
+
+            var result = new CompletableFuture<Authentication>();
+            executor.execute(() -> result.complete(SecurityContextHolder
+                    .getContext().getAuthentication()));
+
+            Assert.assertSame(authentication,
+                    result.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void platformThreadPool_rejectsTasksBeyondQueueCapacity()
+            throws Exception {
+        var release = new CountDownLatch(1);
+        try (var executor = new AsyncEndpointExecutor(
+                AsyncEndpointExecutor.createPlatformThreadPool(1, 1), -1)) {
+            var started = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            var queued = new CompletableFuture<Void>();
+            executor.execute(() -> queued.complete(null));
+            Assert.assertThrows(RejectedExecutionException.class,
+                    () -> executor.execute(() -> {
+                    }));
+
+            release.countDown();
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void defaultExecutor_hasNoTimeout() {
+        try (var executor = new AsyncEndpointExecutor(true)) {
+            Assert.assertEquals(-1, executor.getTimeout());
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
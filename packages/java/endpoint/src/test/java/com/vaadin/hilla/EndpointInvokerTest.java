@@ -2,12 +2,23 @@ package com.vaadin.hilla;
 
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vaadin.hilla.EndpointInvocationException.EndpointBadRequestException;
+import com.vaadin.hilla.EndpointInvocationException.EndpointInternalException;
+import com.vaadin.hilla.exception.EndpointValidationException;
 import com.vaadin.hilla.auth.EndpointAccessChecker;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -173,4 +184,223 @@ public class EndpointInvokerTest {
                 .check(any(Class.class), any(), any());
     }
 
+    @Test
+    public void when_endpointIsRegistered_invocationPlanIsCreatedForEachMethod()
+            throws Exception {
+
+        @EndpointExposed
+        class ParentEndpoint<T> {
+            public T echo(T value) {
+                return value;
+            }
+        }
+
+        @Endpoint
+        class TestEndpoint extends ParentEndpoint<String> {
+            public void test() {
+            }
+        }
+
+        TestEndpoint test = new TestEndpoint();
+
+        endpointRegistry.registerEndpoint(test);
+
+        var endpointData = endpointRegistry.get("TestEndpoint");
+        var echoPlan = endpointData.getInvocationPlan("ECHO").orElseThrow();
+        Assert.assertEquals(1, echoPlan.getParameterCount());
+        Assert.assertEquals(String.class, echoPlan.getParameterType(0));
+        Assert.assertEquals(TestEndpoint.class,
+                echoPlan.getAccessCheckClass());
+
+        var testPlan = endpointData.getInvocationPlan("test").orElseThrow();
+        Assert.assertEquals(0, testPlan.getParameterCount());
+        Assert.assertNull(testPlan.getAccessCheckClass());
+        Assert.assertSame(testPlan,
+                endpointData.getInvocationPlan("test").orElseThrow());
+    }
+
+    @Test
+    public void when_argumentsDoNotMatch_invocationPlanReportsIllegalArgument()
+            throws Exception {
+
+        @Endpoint
+        class TestEndpoint {
+            public int oneArg(int a) {
+                return a + 1;
+            }
+
+            public String echo(String a) {
+                return a;
+            }
+
+            public String fail(String a) {
+                throw new ClassCastException(a);
+            }
+        }
+
+        endpointRegistry.registerEndpoint(new TestEndpoint());
+        var endpointData = endpointRegistry.get("TestEndpoint");
+        var oneArgPlan = endpointData.getInvocationPlan("oneArg").orElseThrow();
+        var echoPlan = endpointData.getInvocationPlan("echo").orElseThrow();
+        var failPlan = endpointData.getInvocationPlan("fail").orElseThrow();
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> oneArgPlan.invoke(new Object[] { null }));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> oneArgPlan.invoke(new Object[] { "1" }));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> oneArgPlan.invoke(new Object[0]));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> echoPlan.invoke(new Object[] { 1 }));
+        Assert.assertEquals(2, oneArgPlan.invoke(new Object[] { 1 }));
+        Assert.assertNull(echoPlan.invoke(new Object[] { null }));
+
+        var exception = Assert.assertThrows(InvocationTargetException.class,
+                () -> failPlan.invoke(new Object[] { "fail" }));
+        Assert.assertTrue(exception.getCause() instanceof ClassCastException);
+    }
+
+    @Test
+    public void when_bodyIsStreamed_parametersAreDeserializedFromStream()
+            throws Exception {
+
+        @Endpoint
+        class TestEndpoint {
+            public String concat(String a, int b) {
+                return a + b;
+            }
+        }
+
+        endpointRegistry.registerEndpoint(new TestEndpoint());
+
+        Assert.assertEquals("a1",
+                endpointInvoker.invokeStreaming("TestEndpoint", "concat",
+                        toStream("{\"a\": \"a\", \"b\": 1}"), principal,
+                        requestMock::isUserInRole));
+
+        Assert.assertThrows(EndpointBadRequestException.class,
+                () -> endpointInvoker.invokeStreaming("TestEndpoint",
+                        "concat", toStream("{\"a\": \"a\"}"), principal,
+                        requestMock::isUserInRole));
+
+        Assert.assertThrows(EndpointBadRequestException.class,
+                () -> endpointInvoker.invokeStreaming("TestEndpoint",
+                        "concat", toStream("[\"a\", 1]"), principal,
+                        requestMock::isUserInRole));
+
+        var exception = Assert.assertThrows(EndpointValidationException.class,
+                () -> endpointInvoker.invokeStreaming("TestEndpoint",
+                        "concat",
+                        toStream("{\"a\": {\"x\": [1, 2]}, \"b\": {}}"),
+                        principal, requestMock::isUserInRole));
+        Assert.assertEquals(2, exception.getValidationErrorData().size());
+    }
+
+    @Test
+    public void primitiveAndVoidReturnValues_areNotCheckedForNulls()
+            throws Exception {
+
+        @Endpoint
+        class TestEndpoint {
+            public int getCount() {
+                return 1;
+            }
+
+            public void doSomething() {
+            }
+        }
+
+        when(explicitNullableTypeChecker.checkValueForAnnotatedElement(any(),
+                any(), Mockito.anyBoolean())).thenReturn("Unexpected null");
+        endpointRegistry.registerEndpoint(new TestEndpoint());
+
+        Assert.assertEquals(1, endpointInvoker.invoke("TestEndpoint",
+                "getCount", null, principal, requestMock::isUserInRole));
+        Assert.assertNull(endpointInvoker.invoke("TestEndpoint", "doSomething",
+                null, principal, requestMock::isUserInRole));
+        Mockito.verify(explicitNullableTypeChecker, Mockito.never())
+                .checkValueForAnnotatedElement(any(), any(),
+                        Mockito.anyBoolean());
+    }
+
+    @Test
+    public void when_nullCheckIsSampled_onlySampledReturnValuesAreChecked()
+            throws Exception {
+
+        @Endpoint
+        class TestEndpoint {
+            public String getValue() {
+                return "value";
+            }
+        }
+
+        when(explicitNullableTypeChecker.checkValueForAnnotatedElement(any(),
+                any(), Mockito.anyBoolean())).thenReturn("Unexpected null");
+        endpointInvoker.setNullCheckSamplingInterval(2);
+        endpointRegistry.registerEndpoint(new TestEndpoint());
+
+        Assert.assertThrows(EndpointInternalException.class,
+                () -> endpointInvoker.invoke("TestEndpoint", "getValue", null,
+                        principal, requestMock::isUserInRole));
+        Assert.assertEquals("value", endpointInvoker.invoke("TestEndpoint",
+                "getValue", null, principal, requestMock::isUserInRole));
+        Assert.assertThrows(EndpointInternalException.class,
+                () -> endpointInvoker.invoke("TestEndpoint", "getValue", null,
+                        principal, requestMock::isUserInRole));
+        Mockito.verify(explicitNullableTypeChecker, Mockito.times(2))
+                .checkValueForAnnotatedElement(any(), any(),
+                        Mockito.anyBoolean());
+    }
+
+    @Test
+    public void when_methodHasNoConstraints_validationIsSkipped()
+            throws Exception {
+
+        @Endpoint
+        class TestEndpoint {
+            public String plain(String value) {
+                return value;
+            }
+
+            public int constrained(@Min(10) int value) {
+                return value;
+            }
+
+            @NotNull
+            public String constrainedReturnValue() {
+                return null;
+            }
+        }
+
+        endpointRegistry.registerEndpoint(new TestEndpoint());
+        var endpointData = endpointRegistry.get("TestEndpoint");
+
+        var plainPlan = endpointData.getInvocationPlan("plain").orElseThrow();
+        Assert.assertFalse(plainPlan.hasConstrainedParameters());
+        Assert.assertFalse(plainPlan.hasConstrainedReturnValue());
+
+        var constrainedPlan = endpointData.getInvocationPlan("constrained")
+                .orElseThrow();
+        Assert.assertTrue(constrainedPlan.hasConstrainedParameters());
+        Assert.assertFalse(constrainedPlan.hasConstrainedReturnValue());
+
+        Assert.assertTrue(endpointData
+                .getInvocationPlan("constrainedReturnValue").orElseThrow()
+                .hasConstrainedReturnValue());
+
+        var mapper = new ObjectMapper();
+        Assert.assertThrows(EndpointValidationException.class,
+                () -> endpointInvoker.invoke("TestEndpoint", "constrained",
+                        mapper.createObjectNode().put("value", 1), principal,
+                        requestMock::isUserInRole));
+        Assert.assertThrows(EndpointInternalException.class,
+                () -> endpointInvoker.invoke("TestEndpoint",
+                        "constrainedReturnValue", null, principal,
+                        requestMock::isUserInRole));
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
@@ -120,6 +120,45 @@ public class EndpointUtilTest {
         testPath("/foo/bar", false);
     }
 
+    @Test
+    public void batchRequest() {
+        testPath("/connect/batch", true);
+        testPath("/batch", false);
+    }
+
+    @Test
+    public void batchRequestIsAnonymous() {
+        // Access is checked for each call of the batch
+        verifyEndpointPathIsAnonymous("/connect/batch", true);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/batch");
+        Assert.assertFalse(endpointUtil.isAnonymousEndpoint(request));
+    }
+
+    @Test
+    public void requestOutsideOfEndpointPrefix() {
+        testPath("/connectx/AnonymousAllowedEndpoint/noAnnotation", false);
+        testPath("/VAADIN/connect/AnonymousAllowedEndpoint/noAnnotation",
+                false);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/connect/AnonymousAllowedEndpoint/noAnnotation");
+        request.setContextPath("/context");
+        Assert.assertFalse(endpointUtil.isEndpointRequest(request));
+        Assert.assertFalse(endpointUtil.isAnonymousEndpoint(request));
+    }
+
+    @Test
+    public void percentEncodedRequest() {
+        testPath("/%63onnect/AnonymousAllowedEndpoint/noAnnotation", true);
+        testPath("/connect/AnonymousAllowedEndpoint/no%41nnotation", true);
+        testPath("/%63onnect/batch", true);
+        testPath("/%63onnectx/AnonymousAllowedEndpoint/noAnnotation", false);
+        verifyEndpointPathIsAnonymous(
+                "/%63onnect/AnonymousAllowedEndpoint/anonymousAllowed", true);
+    }
+
     private void testPath(String path, boolean expected) {
         MockHttpServletRequest request = new MockHttpServletRequest() {
             @Override
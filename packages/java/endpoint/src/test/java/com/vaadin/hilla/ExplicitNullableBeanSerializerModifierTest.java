@@ -0,0 +1,200 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.vaadin.hilla.ExplicitNullableBeanSerializerModifier.UnexpectedNullValueException;
+
+public class ExplicitNullableBeanSerializerModifierTest {
+    private ObjectMapper mapper;
+
+    @Before
+    public void setup() {
+        mapper = new ObjectMapper();
+        mapper.registerModule(ExplicitNullableBeanSerializerModifier
+                .createModule());
+    }
+
+    private ObjectWriter writer(boolean requiredByContext) {
+        return mapper.writer().withAttribute(
+                ExplicitNullableBeanSerializerModifier.REQUIRED_BY_CONTEXT,
+                requiredByContext);
+    }
+
+    @Test
+    public void should_WriteBean_When_NonnullPropertyHasValue()
+            throws Exception {
+        var bean = new Bean();
+        bean.setTitle("title");
+
+        Assert.assertEquals("{\"title\":\"title\",\"tags\":null}",
+                writer(false).writeValueAsString(bean));
+    }
+
+    @Test
+    public void should_Fail_When_NonnullPropertyIsNull() {
+        var exception = Assert.assertThrows(
+                UnexpectedNullValueException.class,
+                () -> writer(false).writeValueAsString(new Bean()));
+
+        Assert.assertTrue(exception.getOriginalMessage()
+                .startsWith("Unexpected null value in Java Bean type '"
+                        + Bean.class.getName() + "' property 'title'."));
+    }
+
+    @Test
+    public void should_Fail_When_PropertyIsNullInNonNullContext() {
+        var bean = new Bean();
+        bean.setTitle("title");
+
+        var exception = Assert.assertThrows(
+                UnexpectedNullValueException.class,
+                () -> writer(true).writeValueAsString(bean));
+
+        Assert.assertTrue(exception.getOriginalMessage().contains("'tags'"));
+    }
+
+    @Test
+    public void should_Fail_When_CollectionPropertyHasNullItem() {
+        var bean = new Bean();
+        bean.setTitle("title");
+        bean.setTags(Arrays.asList("tag", null));
+
+        var exception = Assert.assertThrows(
+                UnexpectedNullValueException.class,
+                () -> writer(true).writeValueAsString(bean));
+
+        Assert.assertTrue(exception.getOriginalMessage()
+                .contains("Unexpected null item in collection"));
+    }
+
+    @Test
+    public void should_Fail_When_MapPropertyHasNullValue() {
+        var bean = new MapBean();
+        bean.setValues(Collections.singletonMap("key", null));
+
+        var exception = Assert.assertThrows(
+                UnexpectedNullValueException.class,
+                () -> writer(true).writeValueAsString(bean));
+
+        Assert.assertTrue(exception.getOriginalMessage()
+                .contains("Unexpected null value for key 'key'"));
+    }
+
+    @Test
+    public void should_WriteMapProperty_When_ValuesAreNotNull()
+            throws Exception {
+        var bean = new MapBean();
+        bean.setValues(Map.of("key", "value"));
+
+        Assert.assertEquals("{\"values\":{\"key\":\"value\"}}",
+                writer(true).writeValueAsString(bean));
+    }
+
+    @Test
+    public void should_Fail_When_NestedBeanPropertyIsNull() {
+        var parent = new Parent();
+        parent.setChild(new Bean());
+
+        Assert.assertThrows(UnexpectedNullValueException.class,
+                () -> writer(false).writeValueAsString(parent));
+    }
+
+    @Test
+    public void should_NotCheck_When_WriterHasNoAttribute() throws Exception {
+        Assert.assertEquals("{\"title\":null,\"tags\":null}",
+                mapper.writeValueAsString(new Bean()));
+    }
+
+    @Test
+    public void should_ReadCheckedPropertyOnce() throws Exception {
+        var bean = new CountingBean();
+
+        Assert.assertEquals("{\"title\":\"title\"}",
+                writer(true).writeValueAsString(bean));
+        Assert.assertEquals(1, bean.getTitleCalls);
+    }
+
+    public static class Bean {
+        @Nonnull
+        private String title;
+        private List<String> tags;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Parent {
+        private Bean child;
+
+        public Bean getChild() {
+            return child;
+        }
+
+        public void setChild(Bean child) {
+            this.child = child;
+        }
+    }
+
+    public static class MapBean {
+        private Map<String, String> values;
+
+        public Map<String, String> getValues() {
+            return values;
+        }
+
+        public void setValues(Map<String, String> values) {
+            this.values = values;
+        }
+    }
+
+    public static class CountingBean {
+        @Nonnull
+        private String title = "title";
+        private int getTitleCalls;
+
+        public String getTitle() {
+            getTitleCalls++;
+            return title;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2024 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.hilla;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResponseBufferPoolTest {
+
+    @Test
+    public void content_spanningChunks_isWrittenInOrder() throws IOException {
+        var pool = new ResponseBufferPool(4);
+        var buffer = pool.acquire();
+        byte[] content = new byte[ResponseBufferPool.CHUNK_SIZE * 3 + 100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        buffer.write(content, 0, 10);
+        buffer.write(content[10]);
+        buffer.write(content, 11, content.length - 11);
+
+        Assert.assertEquals(content.length, buffer.size());
+        var out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        Assert.assertArrayEquals(content, out.toByteArray());
+        Assert.assertArrayEquals(content, buffer.toByteArray());
+    }
+
+    @Test
+    public void releasedChunks_areReused() {
+        var pool = new ResponseBufferPool(4);
+        var buffer = pool.acquire();
+        buffer.write(1);
+        pool.release(buffer);
+        Assert.assertEquals(1, pool.getPooledChunks());
+
+        var reused = pool.acquire();
+        Assert.assertEquals(0, reused.size());
+        reused.write(1);
+        Assert.assertEquals(0, pool.getPooledChunks());
+    }
+
+    @Test
+    public void largeBuffer_chunksArePooled() {
+        var pool = new ResponseBufferPool(128);
+        var buffer = pool.acquire();
+        int length = 2 * 1024 * 1024;
+        buffer.write(new byte[length], 0, length);
+        pool.release(buffer);
+
+        Assert.assertEquals(length / ResponseBufferPool.CHUNK_SIZE,
+                pool.getPooledChunks());
+    }
+
+    @Test
+    public void poolSize_isBounded() {
+        var pool = new ResponseBufferPool(1);
+        var buffer = pool.acquire();
+        int length = ResponseBufferPool.CHUNK_SIZE * 3;
+        buffer.write(new byte[length], 0, length);
+        pool.release(buffer);
+
+        Assert.assertEquals(1, pool.getPooledChunks());
+    }
+}
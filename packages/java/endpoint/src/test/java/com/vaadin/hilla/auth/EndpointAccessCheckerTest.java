@@ -7,6 +7,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import java.lang.reflect.Method;
 import java.security.Principal;
+import java.util.function.Function;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -20,6 +21,7 @@ import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.flow.shared.ApplicationConstants;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -476,4 +478,53 @@ public class EndpointAccessCheckerTest {
         assertAccessGranted(Test.class, "test");
     }
 
+    @Test
+    public void should_EvaluateRolesOnEachCheck_When_RuleIsCompiled()
+            throws Exception {
+        class Test {
+            @RolesAllowed(ROLE_USER)
+            public void test() {
+            }
+        }
+        assertAccessGranted(Test.class, "test");
+
+        when(requestMock.isUserInRole(ROLE_USER)).thenReturn(false);
+        assertAccessDenied(Test.class, "test");
+    }
+
+    @Test
+    public void should_DetectAnonymousAccess() throws Exception {
+        @PermitAll
+        class Test {
+            @AnonymousAllowed
+            public void anonymous() {
+            }
+
+            public void authenticated() {
+            }
+        }
+        assertTrue(
+                checker.isAnonymousAllowed(Test.class.getMethod("anonymous")));
+        assertFalse(checker
+                .isAnonymousAllowed(Test.class.getMethod("authenticated")));
+        assertFalse(checker.isAnonymousAllowed(Test.class));
+    }
+
+    @Test
+    public void should_UseCustomAnnotationChecker_When_Subclassed()
+            throws Exception {
+        class Test {
+            public void test() {
+            }
+        }
+        checker = new EndpointAccessChecker(new AccessAnnotationChecker() {
+            @Override
+            public boolean hasAccess(Method method, Principal principal,
+                    Function<String, Boolean> roleChecker) {
+                return true;
+            }
+        });
+        assertAccessGranted(Test.class, "test");
+    }
+
 }
@@ -2,9 +2,12 @@ package com.vaadin.hilla.crud;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.vaadin.hilla.crud.filter.PropertyStringFilter;
+import com.vaadin.hilla.exception.EndpointException;
 import com.vaadin.hilla.crud.filter.PropertyStringFilter.Matcher;
+import com.vaadin.hilla.mappedtypes.Order;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -13,7 +16,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.junit4.SpringRunner;
 
 @RunWith(SpringRunner.class)
@@ -93,4 +99,204 @@ public class CrudRepositoryServiceJpaTest {
                 testCrudRepositoryService.list(Pageable.unpaged(), null)
                         .stream().map(o -> o.getName()).toList());
     }
+
+    @Test
+    public void list() {
+        Pageable firstPage = PageRequest.of(0, 4, Sort.by("name"));
+        Assert.assertEquals(List.of("Dana", "Jeff", "John", "Lady"),
+                testCrudRepositoryService.list(firstPage, null).stream()
+                        .map(o -> o.getName()).toList());
+        Assert.assertEquals(List.of("Michael", "Michelle"),
+                testCrudRepositoryService.list(firstPage.next(), null)
+                        .stream().map(o -> o.getName()).toList());
+        Assert.assertEquals(List.of("John", "Lady"),
+                testCrudRepositoryService
+                        .list(PageRequest.of(1, 2, Sort.by("name")), null)
+                        .stream().map(o -> o.getName()).toList());
+    }
+
+    @Test
+    public void listProjection() {
+        NestedObject nestedObject = new NestedObject();
+        nestedObject.setName("nested");
+        nestedObject.setLuckyNumber(42);
+        entityManager.persist(nestedObject);
+        testObjects.get(0).setNestedObject(nestedObject);
+        testObjects.get(0).setCode("J-1");
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Map<String, Object>> result = testCrudRepositoryService
+                .listProjection(PageRequest.of(0, 3, Sort.by("name")), null,
+                        List.of("name", "nestedObject.luckyNumber"));
+        Assert.assertEquals(List.of("Dana", "Jeff", "John"),
+                result.stream().map(o -> o.get("name")).toList());
+        Assert.assertEquals(Map.of("id", testObjects.get(4).getId(), "name",
+                "Dana"), result.get(0));
+        Assert.assertEquals(
+                Map.of("id", testObjects.get(0).getId(), "name", "John",
+                        "nestedObject.luckyNumber", 42),
+                result.get(2));
+    }
+
+    @Test
+    public void listProjection_withFilter() {
+        PropertyStringFilter filter = new PropertyStringFilter();
+        filter.setPropertyId("name");
+        filter.setMatcher(Matcher.CONTAINS);
+        filter.setFilterValue("Mich");
+
+        Assert.assertEquals(List.of("Michael", "Michelle"),
+                testCrudRepositoryService
+                        .listProjection(PageRequest.of(0, 10, Sort.by("name")),
+                                filter, List.of("name"))
+                        .stream().map(o -> o.get("name")).toList());
+    }
+
+    @Test(expected = EndpointException.class)
+    public void listProjection_tooManyProperties() {
+        List<String> properties = new ArrayList<>();
+        for (int i = 0; i <= ProjectionQuery.MAX_PROPERTIES; i++) {
+            properties.add("name");
+        }
+        testCrudRepositoryService.listProjection(Pageable.unpaged(), null,
+                properties);
+    }
+
+    @Test(expected = EndpointException.class)
+    public void listProjection_association() {
+        testCrudRepositoryService.listProjection(Pageable.unpaged(), null,
+                List.of("nestedObject"));
+    }
+
+    @Test(expected = EndpointException.class)
+    public void listProjection_propertyNotSerialized() {
+        testCrudRepositoryService.listProjection(Pageable.unpaged(), null,
+                List.of("nestedObject.secret"));
+    }
+
+    @Test
+    public void listByKeyset() {
+        KeysetPageable pageable = new KeysetPageable();
+        pageable.setPageSize(4);
+        Order order = new Order();
+        order.setProperty("name");
+        order.setDirection(Direction.ASC);
+        pageable.getSort().getOrders().add(order);
+
+        KeysetPage<TestObject> firstPage = testCrudRepositoryService
+                .listByKeyset(pageable, null);
+        Assert.assertEquals(List.of("Dana", "Jeff", "John", "Lady"), firstPage
+                .getItems().stream().map(o -> o.getName()).toList());
+        Assert.assertNotNull(firstPage.getNextCursor());
+
+        pageable.setCursor(firstPage.getNextCursor());
+        KeysetPage<TestObject> lastPage = testCrudRepositoryService
+                .listByKeyset(pageable, null);
+        Assert.assertEquals(List.of("Michael", "Michelle"), lastPage
+                .getItems().stream().map(o -> o.getName()).toList());
+        Assert.assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void listByKeyset_withFilter() {
+        KeysetPageable pageable = new KeysetPageable();
+        pageable.setPageSize(1);
+        PropertyStringFilter filter = new PropertyStringFilter();
+        filter.setPropertyId("name");
+        filter.setMatcher(Matcher.CONTAINS);
+        filter.setFilterValue("Mich");
+
+        List<String> names = new ArrayList<>();
+        KeysetPage<TestObject> page;
+        do {
+            page = testCrudRepositoryService.listByKeyset(pageable, filter);
+            page.getItems().forEach(o -> names.add(o.getName()));
+            pageable.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+
+        // Sorted by identifier when no sorting is given
+        Assert.assertEquals(List.of("Michael", "Michelle"), names);
+    }
+
+    @Test
+    public void listByKeyset_nullSortValues() {
+        testObjects.get(0).setCode("b");
+        testObjects.get(2).setCode("a");
+        testObjects.get(4).setCode("b");
+        entityManager.flush();
+
+        // Nulls come first in ascending order, then the identifier decides
+        Assert.assertEquals(
+                List.of("Jeff", "Michelle", "Lady", "Michael", "John", "Dana"),
+                listAllByKeyset("code", Direction.ASC));
+        Assert.assertEquals(
+                List.of("John", "Dana", "Michael", "Jeff", "Michelle", "Lady"),
+                listAllByKeyset("code", Direction.DESC));
+    }
+
+    @Test
+    public void listByKeyset_requiredSortValues() {
+        for (int i = 0; i < testObjects.size(); i++) {
+            testObjects.get(i).setIntValue(i % 3);
+        }
+        entityManager.flush();
+
+        // Equal values are ordered by the identifier
+        Assert.assertEquals(
+                List.of("Michael", "Lady", "Jeff", "Dana", "John", "Michelle"),
+                listAllByKeyset("intValue", Direction.DESC));
+    }
+
+    @Test
+    public void listByKeyset_pageSizeIsCapped() {
+        KeysetPageable pageable = new KeysetPageable();
+        pageable.setPageSize(Integer.MAX_VALUE);
+
+        KeysetPage<TestObject> page = testCrudRepositoryService
+                .listByKeyset(pageable, null);
+        Assert.assertEquals(testObjects.size(), page.getItems().size());
+        Assert.assertNull(page.getNextCursor());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void listByKeyset_cursorOfOtherSorting() {
+        KeysetPageable pageable = new KeysetPageable();
+        pageable.setPageSize(1);
+        pageable.setCursor(testCrudRepositoryService
+                .listByKeyset(pageable, null).getNextCursor());
+        Order order = new Order();
+        order.setProperty("name");
+        order.setDirection(Direction.ASC);
+        pageable.getSort().getOrders().add(order);
+        testCrudRepositoryService.listByKeyset(pageable, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void listByKeyset_invalidCursor() {
+        KeysetPageable pageable = new KeysetPageable();
+        pageable.setPageSize(4);
+        pageable.setCursor("not a cursor");
+        testCrudRepositoryService.listByKeyset(pageable, null);
+    }
+
+    private List<String> listAllByKeyset(String property,
+            Direction direction) {
+        KeysetPageable pageable = new KeysetPageable();
+        // Pages end between objects with null and equal sort values
+        pageable.setPageSize(2);
+        Order order = new Order();
+        order.setProperty(property);
+        order.setDirection(direction);
+        pageable.getSort().getOrders().add(order);
+
+        List<String> names = new ArrayList<>();
+        KeysetPage<TestObject> page;
+        do {
+            page = testCrudRepositoryService.listByKeyset(pageable, null);
+            page.getItems().forEach(o -> names.add(o.getName()));
+            pageable.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+        return names;
+    }
 }
@@ -403,6 +403,38 @@ public class FilterTest {
         assertEquals(0, executeFilter(filter).size());
     }
 
+    @Test
+    public void filterPrefixStringPropertyUsingContains() {
+        setupCodes("AB-1", "AB-2", "ab-3", "XAB-4", "A%-5");
+        assertFilteredCodes(createFilter("code", Matcher.CONTAINS, "AB"),
+                "AB-1", "AB-2");
+        assertFilteredCodes(createFilter("code", Matcher.CONTAINS, "A%"),
+                "A%-5");
+    }
+
+    @Test
+    public void filterPrefixStringPropertyUsingEquals() {
+        setupCodes("AB-1", "ab-1");
+        assertFilteredCodes(createFilter("code", Matcher.EQUALS, "ab-1"),
+                "ab-1");
+    }
+
+    @Test
+    public void resolvedPropertyPathIsReused() {
+        setupNestedObjects();
+        FilterPropertyPath path = jpaFilterConverter.getPropertyPath(
+                TestObject.class, "nestedObject.luckyNumber");
+        Assert.assertSame(path, jpaFilterConverter
+                .getPropertyPath(TestObject.class, "nestedObject.luckyNumber"));
+        assertEquals(long.class, path.javaType());
+        assertEquals(FilterPropertyPath.ValueType.NUMBER, path.valueType());
+
+        PropertyStringFilter filter = createFilter("nestedObject.luckyNumber",
+                Matcher.EQUALS, "84");
+        assertEquals(1, executeFilter(filter).size());
+        assertEquals(1, executeFilter(filter).size());
+    }
+
     private PropertyStringFilter createFilter(String propertyPath,
             Matcher matcher, String filterValue) {
         PropertyStringFilter filter = new PropertyStringFilter();
@@ -430,6 +462,21 @@ public class FilterTest {
         return repository.findAll(spec);
     }
 
+    private void setupCodes(String... codes) {
+        for (String code : codes) {
+            TestObject testObject = new TestObject();
+            testObject.setCode(code);
+            entityManager.persist(testObject);
+        }
+        entityManager.flush();
+    }
+
+    private void assertFilteredCodes(Filter filter, String... expectedCodes) {
+        Object[] actual = executeFilter(filter).stream()
+                .map(TestObject::getCode).sorted().toArray();
+        Assert.assertArrayEquals(expectedCodes, actual);
+    }
+
     private List<TestObject> setupNames(String... names) {
         List<TestObject> created = new ArrayList<>();
         for (String name : names) {
@@ -6,6 +6,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToOne;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 @Entity
 public class NestedObject {
 
@@ -17,6 +19,9 @@ public class NestedObject {
 
     private long luckyNumber;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String secret;
+
     @OneToOne
     private SecondLevelNestedObject secondLevelNestedObject;
 
@@ -52,4 +57,12 @@ public class NestedObject {
             SecondLevelNestedObject secondLevelNestedObject) {
         this.secondLevelNestedObject = secondLevelNestedObject;
     }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
 }
@@ -0,0 +1,86 @@
+package com.vaadin.hilla.crud;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vaadin.hilla.BrowserCallable;
+import com.vaadin.hilla.EndpointController;
+import com.vaadin.hilla.EndpointControllerMockBuilder;
+import com.vaadin.hilla.ExplicitNullableTypeChecker;
+import com.vaadin.hilla.Nullable;
+import com.vaadin.hilla.crud.filter.Filter;
+import com.vaadin.hilla.parser.jackson.JacksonObjectMapperFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest()
+@Import(ProjectionListServiceTest.ProjectionEndpoint.class)
+public class ProjectionListServiceTest {
+
+    @BrowserCallable
+    public static class ProjectionEndpoint
+            extends ListRepositoryService<TestObject, Integer, TestRepository>
+            implements ProjectionListService<TestObject> {
+        @Override
+        public List<Map<String, Object>> listProjection(Pageable pageable,
+                @Nullable Filter filter, List<String> properties) {
+            return super.listProjection(pageable, filter, properties);
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void listProjection_unrequestedPropertiesPassNullCheck()
+            throws Exception {
+        TestObject testObject = new TestObject();
+        testObject.setName("John");
+        entityManager.persist(testObject);
+        entityManager.flush();
+
+        EndpointController controller = new EndpointControllerMockBuilder()
+                .withApplicationContext(applicationContext)
+                .withExplicitNullableTypeChecker(
+                        new ExplicitNullableTypeChecker())
+                .withObjectMapperFactory(new JacksonObjectMapperFactory.Json())
+                .build();
+        controller.registerEndpoints(null);
+
+        ObjectNode body = objectMapper.createObjectNode();
+        ObjectNode pageable = body.putObject("pageable");
+        pageable.put("pageNumber", 0);
+        pageable.put("pageSize", 10);
+        pageable.putObject("sort").putArray("orders");
+        body.putNull("filter");
+        // The code of the object is null, and not requested
+        body.putArray("properties").add("name");
+
+        ResponseEntity<String> response = controller.serveEndpoint(
+                "ProjectionEndpoint", "listProjection", body,
+                new MockHttpServletRequest());
+
+        Assert.assertEquals(200, response.getStatusCode().value());
+        Assert.assertEquals(
+                objectMapper.readTree("[{\"id\":" + testObject.getId()
+                        + ",\"name\":\"John\"}]"),
+                objectMapper.readTree(response.getBody()));
+    }
+}
@@ -17,6 +17,8 @@ public class TestObject {
     private Integer id;
 
     private String name;
+    @StringFiltering(StringMatching.PREFIX)
+    private String code;
     private LocalDate localDate;
     private LocalTime localTime;
     private LocalDateTime localDateTime;
@@ -50,6 +52,14 @@ public class TestObject {
         this.name = name;
     }
 
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
     public LocalDate getLocalDate() {
         return localDate;
     }
@@ -0,0 +1,67 @@
+package com.vaadin.hilla.push;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MicrometerPushMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerPushMetrics metrics = new MicrometerPushMetrics(
+            registry);
+
+    @Test
+    public void subscriptions_areCountedByMethodIgnoringCase() {
+        metrics.subscriptionStarted("StockEndpoint", "prices");
+        metrics.subscriptionStarted("stockendpoint", "Prices");
+        metrics.subscriptionStarted("StockEndpoint", "news");
+        metrics.subscriptionEnded("StockEndpoint", "prices",
+                PushMetrics.SubscriptionEnd.DROPPED);
+
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions")
+                .tags("endpoint", "stockendpoint", "method", "prices").gauge()
+                .value(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions")
+                .tags("endpoint", "stockendpoint", "method", "news").gauge()
+                .value(), 0);
+        Assert.assertEquals(1,
+                registry.get("hilla.push.subscriptions.ended")
+                        .tags("method", "prices", "reason", "dropped")
+                        .counter().count(),
+                0);
+    }
+
+    @Test
+    public void sentItemsAndWrittenMessages_areRecorded() {
+        metrics.itemSent("StockEndpoint", "prices",
+                TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.itemSent("StockEndpoint", "prices",
+                TimeUnit.MILLISECONDS.toNanos(15));
+        metrics.messageWritten(1000, 120);
+        metrics.messageWritten(1000, 80);
+
+        Assert.assertEquals(2,
+                registry.get("hilla.push.items").counter().count(), 0);
+        Assert.assertEquals(10, registry.get("hilla.push.items.latency")
+                .timer().mean(TimeUnit.MILLISECONDS), 0.001);
+        Assert.assertEquals(200,
+                registry.get("hilla.push.written").counter().count(), 0);
+        Assert.assertEquals(2,
+                registry.get("hilla.push.serialization").timer().count());
+    }
+
+    @Test
+    public void connections_areCountedAndCleanupIsTimed() {
+        metrics.connectionOpened();
+        metrics.connectionOpened();
+        metrics.connectionClosed(TimeUnit.MILLISECONDS.toNanos(3));
+
+        Assert.assertEquals(1,
+                registry.get("hilla.push.connections").gauge().value(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.disconnect.cleanup")
+                .timer().count());
+    }
+}
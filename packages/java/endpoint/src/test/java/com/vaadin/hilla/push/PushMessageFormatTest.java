@@ -0,0 +1,77 @@
+package com.vaadin.hilla.push;
+
+import org.atmosphere.cpr.AtmosphereRequest;
+import org.atmosphere.cpr.AtmosphereResource;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class PushMessageFormatTest {
+
+    private static AtmosphereResource connect(String header, String parameter,
+            AtmosphereResource.TRANSPORT transport) {
+        AtmosphereRequest request = Mockito.mock(AtmosphereRequest.class);
+        Mockito.when(request.getHeader(PushMessageFormat.FORMAT_HEADER))
+                .thenReturn(header);
+        Mockito.when(request.getParameter(PushMessageFormat.FORMAT_HEADER))
+                .thenReturn(parameter);
+        AtmosphereResource resource = Mockito.mock(AtmosphereResource.class);
+        Mockito.when(resource.getRequest()).thenReturn(request);
+        Mockito.when(resource.transport()).thenReturn(transport);
+        return resource;
+    }
+
+    @Test
+    public void noFormatRequested_usesJson() {
+        Assert.assertEquals(PushMessageFormat.JSON,
+                PushMessageFormat.fromConnectRequest(connect(null, null,
+                        AtmosphereResource.TRANSPORT.WEBSOCKET), true));
+    }
+
+    @Test
+    public void cborRequestedOverWebsocket_usesCbor() {
+        Assert.assertEquals(PushMessageFormat.CBOR,
+                PushMessageFormat.fromConnectRequest(connect("cbor", null,
+                        AtmosphereResource.TRANSPORT.WEBSOCKET), true));
+        Assert.assertEquals(PushMessageFormat.CBOR,
+                PushMessageFormat.fromConnectRequest(connect(null, "CBOR",
+                        AtmosphereResource.TRANSPORT.WEBSOCKET), true));
+    }
+
+    @Test
+    public void cborRequestedWithoutWebsocket_usesJson() {
+        Assert.assertEquals(PushMessageFormat.JSON,
+                PushMessageFormat.fromConnectRequest(connect("cbor", null,
+                        AtmosphereResource.TRANSPORT.LONG_POLLING), true));
+    }
+
+    @Test
+    public void unknownFormatRequested_usesJson() {
+        Assert.assertEquals(PushMessageFormat.JSON,
+                PushMessageFormat.fromConnectRequest(connect("xml", null,
+                        AtmosphereResource.TRANSPORT.WEBSOCKET), true));
+    }
+
+    @Test
+    public void cborRequestedWhenBinaryFormatsAreDisabled_usesJson() {
+        Assert.assertEquals(PushMessageFormat.JSON,
+                PushMessageFormat.fromConnectRequest(connect("cbor", null,
+                        AtmosphereResource.TRANSPORT.WEBSOCKET), false));
+    }
+
+    @Test
+    public void formatsOnTheClasspath_areAvailable() {
+        Assert.assertTrue(PushMessageFormat.JSON.isAvailable());
+        Assert.assertTrue(PushMessageFormat.CBOR.isAvailable());
+    }
+
+    @Test
+    public void isRequested_onlyWhenFormatIsGiven() {
+        Assert.assertFalse(PushMessageFormat.isRequested(
+                connect(null, null, AtmosphereResource.TRANSPORT.WEBSOCKET)));
+        Assert.assertFalse(PushMessageFormat.isRequested(
+                connect("", null, AtmosphereResource.TRANSPORT.WEBSOCKET)));
+        Assert.assertTrue(PushMessageFormat.isRequested(
+                connect(null, "cbor", AtmosphereResource.TRANSPORT.WEBSOCKET)));
+    }
+}
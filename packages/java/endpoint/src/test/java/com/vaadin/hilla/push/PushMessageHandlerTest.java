@@ -7,7 +7,10 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,12 +25,16 @@ import com.vaadin.hilla.EndpointProperties;
 import com.vaadin.hilla.EndpointSubscription;
 import com.vaadin.hilla.ServletContextTestSetup;
 import com.vaadin.hilla.push.PushMessageHandler.SubscriptionInfo;
+import com.vaadin.hilla.push.messages.fromclient.PongMessage;
 import com.vaadin.hilla.push.messages.fromclient.SubscribeMessage;
 import com.vaadin.hilla.push.messages.fromclient.UnsubscribeMessage;
 import com.vaadin.hilla.push.messages.toclient.AbstractClientMessage;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageBatch;
 import com.vaadin.hilla.push.messages.toclient.ClientMessageComplete;
 import com.vaadin.hilla.push.messages.toclient.ClientMessageError;
+import com.vaadin.hilla.push.messages.toclient.ClientMessagePing;
 import com.vaadin.hilla.push.messages.toclient.ClientMessageUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import net.jcip.annotations.NotThreadSafe;
 import org.junit.After;
 import org.junit.Assert;
@@ -44,6 +51,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 
 @SpringBootTest(classes = { PushMessageHandler.class,
         ServletContextTestSetup.class, EndpointProperties.class,
@@ -63,6 +71,8 @@ public class PushMessageHandlerTest {
     private static final String ENDPOINT_SUBSCRIPTION_METHOD = "testEndpointSubscription";
     private static final String INFINITE_ENDPOINT_SUBSCRIPTION_METHOD = "testInfiniteEndpointSubscription";
     private static final String ENDPOINT_SUBSCRIPTION_WITH_EXCEPTION_METHOD = "testEndpointSubscriptionWithException";
+    private static final String LATEST_DELIVERY_FLUX_METHOD = "testLatestDeliveryFlux";
+    private static final String SHARED_FLUX_METHOD = "testSharedFlux";
 
     @Autowired
     private PushMessageHandler pushMessageHandler;
@@ -79,11 +89,13 @@ public class PushMessageHandlerTest {
     private List<AbstractClientMessage> unexpectedMessages = new ArrayList<>();
 
     private String connectionId;
+    private Flux<Integer> latestDeliveryFlux;
 
     @Before
     public void setup()
             throws EndpointNotFoundException, EndpointAccessDeniedException,
-            EndpointBadRequestException, EndpointInternalException {
+            EndpointBadRequestException, EndpointInternalException,
+            NoSuchMethodException {
         Mockito.when(endpointInvoker.getReturnType(Mockito.anyString(),
                 Mockito.anyString())).thenAnswer(request -> {
                     if (!request.getArgument(0).equals(ENDPOINT_NAME)) {
@@ -92,7 +104,10 @@ public class PushMessageHandlerTest {
                     String methodName = request.getArgument(1);
                     if (methodName.equals(FLUX_METHOD)
                             || methodName.equals(FLUX_WITH_EXCEPTION_METHOD)
-                            || methodName.equals(INFINITE_FLUX_METHOD)) {
+                            || methodName.equals(INFINITE_FLUX_METHOD)
+                            || methodName
+                                    .equals(LATEST_DELIVERY_FLUX_METHOD)
+                            || methodName.equals(SHARED_FLUX_METHOD)) {
                         return Flux.class;
                     } else if (methodName.equals(ENDPOINT_SUBSCRIPTION_METHOD)
                             || methodName.equals(
@@ -119,6 +134,11 @@ public class PushMessageHandlerTest {
                         return createInfiniteDataFlux();
                     } else if (methodName.equals(FLUX_WITH_EXCEPTION_METHOD)) {
                         return createErrorFlux();
+                    } else if (methodName
+                            .equals(LATEST_DELIVERY_FLUX_METHOD)) {
+                        return latestDeliveryFlux;
+                    } else if (methodName.equals(SHARED_FLUX_METHOD)) {
+                        return createInfiniteDataFlux();
                     } else if (methodName
                             .equals(ENDPOINT_SUBSCRIPTION_METHOD)) {
                         return EndpointSubscription.of(createSingleDataFlux(),
@@ -135,6 +155,16 @@ public class PushMessageHandlerTest {
                     return null;
                 });
 
+        Mockito.when(endpointInvoker.getMethodAnnotation(ENDPOINT_NAME,
+                LATEST_DELIVERY_FLUX_METHOD, PushDelivery.class))
+                .thenReturn(getClass().getDeclaredMethod("latestDelivery")
+                        .getAnnotation(PushDelivery.class));
+
+        Mockito.when(endpointInvoker.getMethodAnnotation(ENDPOINT_NAME,
+                SHARED_FLUX_METHOD, SharedFlux.class))
+                .thenReturn(getClass().getDeclaredMethod("sharedFlux")
+                        .getAnnotation(SharedFlux.class));
+
         connectionId = UUID.randomUUID().toString();
         pushMessageHandler.fluxSubscriptionInfos = new ConcurrentHashMap<>();
         pushMessageHandler.handleBrowserConnect(connectionId);
@@ -142,6 +172,10 @@ public class PushMessageHandlerTest {
 
     @After
     public void after() {
+        pushMessageHandler.setMetrics(PushMetrics.NONE);
+        pushMessageHandler.setHeartbeat(0, 0);
+        pushMessageHandler.setLimits(0, 0);
+        pushMessageHandler.setUpdateBatching(1, 0);
         Assert.assertEquals(List.of(), unexpectedMessages);
     }
 
@@ -330,6 +364,168 @@ public class PushMessageHandlerTest {
         Assert.assertEquals(0, pushMessageHandler.fluxSubscriptionInfos.size());
     }
 
+    @Test
+    public void fluxSubscription_metricsRecordSubscriptionLifecycle()
+            throws Exception {
+        var registry = new SimpleMeterRegistry();
+        pushMessageHandler.setMetrics(new MicrometerPushMetrics(registry));
+        SubscribeMessage subscribeMessage = createInfiniteFluxSubscribe();
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage,
+                ignoreUpdateMessages());
+        SubscribeMessage subscribeMessage2 = createInfiniteFluxSubscribe();
+        subscribeMessage2.setId("2");
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage2,
+                ignoreUpdateMessages());
+
+        Assert.assertEquals(2, registry.get("hilla.push.subscriptions")
+                .gauge().value(), 0);
+
+        UnsubscribeMessage unsubscribeMessage = new UnsubscribeMessage();
+        unsubscribeMessage.setId(subscribeMessage.getId());
+        pushMessageHandler.handleMessage(connectionId, unsubscribeMessage,
+                ignoreAll());
+        pushMessageHandler.handleBrowserDisconnect(connectionId);
+
+        Assert.assertEquals(0, registry.get("hilla.push.subscriptions")
+                .gauge().value(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions.ended")
+                .tag("reason", "cancelled").counter().count(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.subscriptions.ended")
+                .tag("reason", "dropped").counter().count(), 0);
+        Assert.assertEquals(1, registry.get("hilla.push.disconnect.cleanup")
+                .timer().count());
+    }
+
+    @Test
+    public void heartbeat_pingsIdleConnectionAndClosesDeadConnection()
+            throws InterruptedException {
+        pushMessageHandler.setHeartbeat(60_000, 180_000);
+        String heartbeatConnectionId = UUID.randomUUID().toString();
+        List<AbstractClientMessage> pings = new CopyOnWriteArrayList<>();
+        CountDownLatch pinged = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        pushMessageHandler.handleBrowserConnect(heartbeatConnectionId, null,
+                msg -> {
+                    pings.add(msg);
+                    pinged.countDown();
+                }, closed::countDown);
+        SubscribeMessage subscribeMessage = createInfiniteFluxSubscribe();
+        pushMessageHandler.handleMessage(heartbeatConnectionId,
+                subscribeMessage, ignoreUpdateMessages());
+        long connected = System.nanoTime();
+
+        pushMessageHandler.checkConnections(
+                connected + TimeUnit.SECONDS.toNanos(30));
+        pushMessageHandler.checkConnections(
+                connected + TimeUnit.SECONDS.toNanos(90));
+        Assert.assertTrue(pinged.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, pings.size());
+        Assert.assertTrue(pings.get(0) instanceof ClientMessagePing);
+        Assert.assertEquals(1, closed.getCount());
+
+        pushMessageHandler.checkConnections(
+                connected + TimeUnit.SECONDS.toNanos(200));
+        Assert.assertTrue(closed.await(2, TimeUnit.SECONDS));
+        Assert.assertNull(pushMessageHandler.fluxSubscriptionInfos
+                .get(heartbeatConnectionId));
+    }
+
+    @Test
+    public void heartbeat_idleTimeoutIsAtLeastTwiceTheInterval()
+            throws InterruptedException {
+        pushMessageHandler.setHeartbeat(60_000, 60_000);
+        String heartbeatConnectionId = UUID.randomUUID().toString();
+        CountDownLatch pinged = new CountDownLatch(1);
+        AtomicBoolean closed = new AtomicBoolean();
+        pushMessageHandler.handleBrowserConnect(heartbeatConnectionId, null,
+                msg -> pinged.countDown(), () -> closed.set(true));
+        long connected = System.nanoTime();
+
+        pushMessageHandler.checkConnections(
+                connected + TimeUnit.SECONDS.toNanos(90));
+        Assert.assertTrue(pinged.await(2, TimeUnit.SECONDS));
+        Assert.assertFalse(closed.get());
+        Assert.assertNotNull(pushMessageHandler.fluxSubscriptionInfos
+                .get(heartbeatConnectionId));
+    }
+
+    @Test
+    public void heartbeat_pongIsAcceptedWithoutReply() {
+        pushMessageHandler.handleMessage(connectionId, new PongMessage(),
+                msg -> unexpectedMessages.add(msg));
+        Assert.assertEquals(List.of(), unexpectedMessages);
+    }
+
+    @Test
+    public void limits_rejectSubscriptionsOverConnectionLimit() {
+        pushMessageHandler.setLimits(1, 0);
+        pushMessageHandler.handleMessage(connectionId,
+                createInfiniteFluxSubscribe(), ignoreUpdateMessages());
+        SubscribeMessage subscribeMessage2 = createInfiniteFluxSubscribe();
+        subscribeMessage2.setId("2");
+        AtomicReference<AbstractClientMessage> rejection = new AtomicReference<>();
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage2,
+                rejection::set);
+
+        Assert.assertTrue(rejection.get() instanceof ClientMessageError);
+        Assert.assertEquals("2", rejection.get().getId());
+        Assert.assertEquals(1, pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).size());
+    }
+
+    @Test
+    public void limits_concurrentSubscriptionsDoNotExceedConnectionLimit()
+            throws InterruptedException {
+        pushMessageHandler.setLimits(1, 0);
+        int subscribers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(subscribers);
+        List<AbstractClientMessage> rejections = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            SubscribeMessage subscribeMessage = createInfiniteFluxSubscribe();
+            subscribeMessage.setId("concurrent-" + i);
+            new Thread(() -> {
+                try {
+                    start.await();
+                    pushMessageHandler.handleMessage(connectionId,
+                            subscribeMessage, msg -> {
+                                if (msg instanceof ClientMessageError) {
+                                    rejections.add(msg);
+                                }
+                            });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(subscribers - 1, rejections.size());
+        Assert.assertEquals(1, pushMessageHandler.fluxSubscriptionInfos
+                .get(connectionId).size());
+    }
+
+    @Test
+    public void limits_rejectConnectionsOverSessionLimit() {
+        pushMessageHandler.setLimits(0, 1);
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+
+        Assert.assertTrue(pushMessageHandler.handleBrowserConnect(first,
+                "session", null, null));
+        Assert.assertFalse(pushMessageHandler.handleBrowserConnect(second,
+                "session", null, null));
+        Assert.assertTrue(pushMessageHandler.handleBrowserConnect(second,
+                "otherSession", null, null));
+
+        pushMessageHandler.handleBrowserDisconnect(first);
+        Assert.assertTrue(pushMessageHandler.handleBrowserConnect(
+                UUID.randomUUID().toString(), "session", null, null));
+    }
+
     @Test
     public void endpointSubscription_triggersUnsubscribeCallbackOnClientCloseMessage()
             throws Exception {
@@ -387,6 +583,167 @@ public class PushMessageHandlerTest {
         Assert.assertEquals(0, unsubscribeCalled);
     }
 
+    @Test
+    public void fluxSubscription_latestDeliveryKeepsLatestItemDuringSlowWrite()
+            throws Exception {
+        AtomicReference<FluxSink<Integer>> sink = new AtomicReference<>();
+        latestDeliveryFlux = Flux.create(sink::set,
+                FluxSink.OverflowStrategy.IGNORE);
+        List<Object> items = new CopyOnWriteArrayList<>();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch writeDone = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        SubscribeMessage subscribeMessage = createFluxSubscribe();
+        subscribeMessage.setMethodName(LATEST_DELIVERY_FLUX_METHOD);
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage,
+                msg -> {
+                    if (msg instanceof ClientMessageUpdate) {
+                        items.add(((ClientMessageUpdate) msg).getItem());
+                        writing.countDown();
+                        try {
+                            // Simulates a slow client
+                            writeDone.await(2, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    } else if (msg instanceof ClientMessageComplete) {
+                        done.countDown();
+                    } else {
+                        unexpectedMessages.add(msg);
+                    }
+                });
+
+        sink.get().next(0);
+        Assert.assertTrue(writing.await(2, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            sink.get().next(i);
+        }
+        sink.get().complete();
+        writeDone.countDown();
+
+        Assert.assertTrue(done.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of(0, 9), items);
+    }
+
+    @Test
+    public void fluxSubscription_latestDeliveryKeepsThroughputWithBatching()
+            throws Exception {
+        // A batch is never full here, and would only be sent after a minute
+        pushMessageHandler.setUpdateBatching(100, 60_000);
+        latestDeliveryFlux = Flux.range(0, 10);
+        List<Object> items = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        SubscribeMessage subscribeMessage = createFluxSubscribe();
+        subscribeMessage.setMethodName(LATEST_DELIVERY_FLUX_METHOD);
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage,
+                msg -> {
+                    if (msg instanceof ClientMessageUpdate) {
+                        items.add(((ClientMessageUpdate) msg).getItem());
+                    } else if (msg instanceof ClientMessageBatch) {
+                        ((ClientMessageBatch) msg).getUpdates()
+                                .forEach(update -> items.add(update.getItem()));
+                    } else if (msg instanceof ClientMessageComplete) {
+                        done.countDown();
+                    } else {
+                        unexpectedMessages.add(msg);
+                    }
+                });
+
+        // The next item is requested as soon as the previous one is in the
+        // batch, so the whole flux is consumed without waiting for the delay,
+        // and the completion sends the batch
+        Assert.assertTrue(done.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), items);
+    }
+
+    @Test
+    public void sharedFlux_isInvokedOnceAndTornDownWithLastSubscription()
+            throws Exception {
+        String otherConnectionId = UUID.randomUUID().toString();
+        pushMessageHandler.handleBrowserConnect(otherConnectionId);
+        CountDownLatch received = new CountDownLatch(2);
+        Consumer<AbstractClientMessage> sender = msg -> {
+            if (msg instanceof ClientMessageUpdate) {
+                received.countDown();
+            } else {
+                unexpectedMessages.add(msg);
+            }
+        };
+
+        SubscribeMessage subscribeMessage = createFluxSubscribe();
+        subscribeMessage.setMethodName(SHARED_FLUX_METHOD);
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage,
+                sender);
+        pushMessageHandler.handleMessage(otherConnectionId, subscribeMessage,
+                sender);
+
+        Assert.assertTrue(received.await(2, TimeUnit.SECONDS));
+        Mockito.verify(endpointInvoker, Mockito.times(1)).invoke(
+                Mockito.eq(ENDPOINT_NAME), Mockito.eq(SHARED_FLUX_METHOD),
+                Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(endpointInvoker, Mockito.times(2)).checkAccess(
+                Mockito.eq(ENDPOINT_NAME), Mockito.eq(SHARED_FLUX_METHOD),
+                Mockito.any(), Mockito.any());
+        Assert.assertEquals(1, pushMessageHandler.sharedFluxes.size());
+
+        UnsubscribeMessage unsubscribeMessage = new UnsubscribeMessage();
+        unsubscribeMessage.setId(subscribeMessage.getId());
+        pushMessageHandler.handleMessage(connectionId, unsubscribeMessage,
+                sender);
+        Assert.assertEquals(1, pushMessageHandler.sharedFluxes.size());
+        pushMessageHandler.handleMessage(otherConnectionId,
+                unsubscribeMessage, sender);
+        Assert.assertEquals(0, pushMessageHandler.sharedFluxes.size());
+    }
+
+    @Test
+    public void sharedFlux_isInvokedAgainAfterTearDown() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        Consumer<AbstractClientMessage> sender = msg -> {
+            if (msg instanceof ClientMessageUpdate) {
+                received.countDown();
+            } else {
+                unexpectedMessages.add(msg);
+            }
+        };
+
+        SubscribeMessage subscribeMessage = createFluxSubscribe();
+        subscribeMessage.setMethodName(SHARED_FLUX_METHOD);
+        pushMessageHandler.handleMessage(connectionId, subscribeMessage,
+                sender);
+        UnsubscribeMessage unsubscribeMessage = new UnsubscribeMessage();
+        unsubscribeMessage.setId(subscribeMessage.getId());
+        pushMessageHandler.handleMessage(connectionId, unsubscribeMessage,
+                sender);
+        Assert.assertEquals(0, pushMessageHandler.sharedFluxes.size());
+
+        // The ended flux is not reconnected, a new one is shared instead
+        SubscribeMessage resubscribeMessage = createFluxSubscribe();
+        resubscribeMessage.setMethodName(SHARED_FLUX_METHOD);
+        pushMessageHandler.handleMessage(connectionId, resubscribeMessage,
+                sender);
+        Assert.assertTrue(received.await(2, TimeUnit.SECONDS));
+        Mockito.verify(endpointInvoker, Mockito.times(2)).invoke(
+                Mockito.eq(ENDPOINT_NAME), Mockito.eq(SHARED_FLUX_METHOD),
+                Mockito.any(), Mockito.any(), Mockito.any());
+        Assert.assertEquals(1, pushMessageHandler.sharedFluxes.size());
+
+        unsubscribeMessage.setId(resubscribeMessage.getId());
+        pushMessageHandler.handleMessage(connectionId, unsubscribeMessage,
+                sender);
+        Assert.assertEquals(0, pushMessageHandler.sharedFluxes.size());
+    }
+
+    @SharedFlux
+    private void sharedFlux() {
+    }
+
+    @PushDelivery(PushDelivery.Policy.LATEST)
+    private void latestDelivery() {
+    }
+
     private Consumer<AbstractClientMessage> ignoreAll() {
         return msg -> {
         };
@@ -0,0 +1,93 @@
+package com.vaadin.hilla.push;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.hilla.push.messages.toclient.AbstractClientMessage;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageBatch;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageComplete;
+import com.vaadin.hilla.push.messages.toclient.ClientMessageUpdate;
+import reactor.core.scheduler.Schedulers;
+
+public class PushUpdateBatcherTest {
+
+    private final List<AbstractClientMessage> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void fullBatch_isSentImmediately() {
+        var batcher = new PushUpdateBatcher(sent::add, 3, 60_000,
+                Schedulers.parallel());
+        batcher.send(new ClientMessageUpdate("a", 1));
+        batcher.send(new ClientMessageUpdate("b", 2));
+        Assert.assertEquals(0, sent.size());
+
+        batcher.send(new ClientMessageUpdate("a", 3));
+        Assert.assertEquals(1, sent.size());
+        var batch = (ClientMessageBatch) sent.get(0);
+        Assert.assertEquals(List.of(1, 2, 3), batch.getUpdates().stream()
+                .map(ClientMessageUpdate::getItem).toList());
+    }
+
+    @Test
+    public void otherMessage_isSentAfterPendingUpdates() {
+        var batcher = new PushUpdateBatcher(sent::add, 10, 60_000,
+                Schedulers.parallel());
+        var update = new ClientMessageUpdate("a", 1);
+        var complete = new ClientMessageComplete("a");
+        batcher.send(update);
+        batcher.send(complete);
+
+        // A single update is not wrapped in a batch
+        Assert.assertEquals(List.of(update, complete), sent);
+    }
+
+    @Test
+    public void pendingUpdates_areSentAfterDelay() throws Exception {
+        var delivered = new CountDownLatch(1);
+        var batcher = new PushUpdateBatcher(message -> {
+            sent.add(message);
+            delivered.countDown();
+        }, 10, 10, Schedulers.parallel());
+        batcher.send(new ClientMessageUpdate("a", 1));
+        batcher.send(new ClientMessageUpdate("b", 2));
+
+        Assert.assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, sent.size());
+        Assert.assertEquals(2,
+                ((ClientMessageBatch) sent.get(0)).getUpdates().size());
+    }
+
+    @Test
+    public void disposedBatcher_dropsMessages() {
+        var batcher = new PushUpdateBatcher(sent::add, 2, 60_000,
+                Schedulers.parallel());
+        batcher.send(new ClientMessageUpdate("a", 1));
+        batcher.dispose();
+        batcher.send(new ClientMessageUpdate("a", 2));
+        batcher.flush();
+
+        Assert.assertEquals(List.of(), sent);
+    }
+
+    @Test
+    public void updateCallbacks_runAtOnceWhileBatchHasRoom() {
+        var batcher = new PushUpdateBatcher(sent::add, 2, 60_000,
+                Schedulers.parallel());
+        List<Integer> callbacks = new CopyOnWriteArrayList<>();
+        batcher.send(new ClientMessageUpdate("a", 1), () -> callbacks.add(1));
+        Assert.assertEquals(List.of(), sent);
+        Assert.assertEquals(List.of(1), callbacks);
+
+        // The update filling the batch waits for the batch to be written
+        batcher.send(new ClientMessageUpdate("b", 2), () -> {
+            Assert.assertEquals(1, sent.size());
+            callbacks.add(2);
+        });
+        Assert.assertEquals(List.of(1, 2), callbacks);
+    }
+}
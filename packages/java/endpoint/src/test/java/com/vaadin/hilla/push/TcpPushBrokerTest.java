@@ -0,0 +1,120 @@
+package com.vaadin.hilla.push;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TcpPushBrokerTest {
+
+    private TcpPushBroker node1;
+    private TcpPushBroker node2;
+    private final List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        node1 = new TcpPushBroker(0, List.of());
+        node2 = new TcpPushBroker(0, List.of(node1.getLocalAddress()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        subscriptions.forEach(Disposable::dispose);
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    public void publishedEvent_isDeliveredOnBothNodes() throws Exception {
+        var received = new CountDownLatch(2);
+        var events = new CopyOnWriteArrayList<String>();
+        for (TcpPushBroker node : List.of(node1, node2)) {
+            subscriptions.add(node.subscribe("prices").subscribe(event -> {
+                events.add(event);
+                received.countDown();
+            }));
+        }
+
+        node2.publish("prices", "{\"price\":42}");
+
+        Assert.assertTrue(received.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of("{\"price\":42}", "{\"price\":42}"),
+                events);
+    }
+
+    @Test
+    public void pushEvents_convertEventsAcrossNodes() throws Exception {
+        var objectMapper = new ObjectMapper();
+        var received = new CountDownLatch(1);
+        var events = new CopyOnWriteArrayList<Price>();
+        subscriptions.add(new PushEvents(node1, objectMapper)
+                .subscribe("prices", Price.class).subscribe(price -> {
+                    events.add(price);
+                    received.countDown();
+                }));
+
+        new PushEvents(node2, objectMapper).publish("prices",
+                new Price("ACME", 42));
+
+        Assert.assertTrue(received.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(List.of(new Price("ACME", 42)), events);
+    }
+
+    @Test
+    public void publish_doesNotWaitForUnresponsivePeer() throws Exception {
+        // Accepts connections, but never reads the events sent to it
+        try (var unresponsivePeer = new ServerSocket(0, 50,
+                InetAddress.getLoopbackAddress());
+                var node = new TcpPushBroker(0,
+                        List.of((InetSocketAddress) unresponsivePeer
+                                .getLocalSocketAddress()))) {
+            var received = new CountDownLatch(20);
+            subscriptions.add(node.subscribe("blobs")
+                    .subscribe(event -> received.countDown()));
+            String event = "x".repeat(1024 * 1024);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 20; i++) {
+                node.publish("blobs", event);
+            }
+
+            Assert.assertTrue(received.await(2, TimeUnit.SECONDS));
+            Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS
+                    .toNanos(2));
+        }
+    }
+
+    @Test
+    public void publish_toUnreachablePeer_deliversLocally() throws Exception {
+        InetSocketAddress unreachable;
+        try (var socket = new ServerSocket(0, 50,
+                InetAddress.getLoopbackAddress())) {
+            unreachable = (InetSocketAddress) socket.getLocalSocketAddress();
+        }
+        try (var node = new TcpPushBroker(0, List.of(unreachable))) {
+            var received = new CountDownLatch(3);
+            subscriptions.add(node.subscribe("prices")
+                    .subscribe(event -> received.countDown()));
+
+            for (int i = 0; i < 3; i++) {
+                node.publish("prices", "{\"price\":" + i + "}");
+            }
+
+            Assert.assertTrue(received.await(2, TimeUnit.SECONDS));
+        }
+    }
+
+    public record Price(String symbol, int price) {
+    }
+}
@@ -19,8 +19,11 @@ package com.vaadin.hilla.rest;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.vaadin.hilla.engine.EngineConfiguration;
@@ -37,6 +40,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -45,12 +49,14 @@ import com.vaadin.flow.server.startup.ApplicationConfiguration;
 
 import com.vaadin.hilla.EndpointController;
 import com.vaadin.hilla.EndpointControllerMockBuilder;
+import com.vaadin.hilla.ExplicitNullableTypeChecker;
 
 import jakarta.servlet.ServletContext;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
 
 @RunWith(SpringRunner.class)
 @WebMvcTest
@@ -162,6 +168,182 @@ public class EndpointWithRestControllerTest {
         assertEquals("\"08:00:00\"", result);
     }
 
+    @Test
+    public void should_CompleteResponseAsynchronously_when_MethodReturnsCompletableFuture()
+            throws Exception {
+        String result = callAsyncEndpointMethod("getCompletableFuture");
+        assertEquals("{\"name\":\"Bond\"}", result);
+    }
+
+    @Test
+    public void should_CompleteResponseAsynchronously_when_MethodReturnsMono()
+            throws Exception {
+        String result = callAsyncEndpointMethod("getMono");
+        assertEquals("\"08:00:00\"", result);
+    }
+
+    @Test
+    public void should_ReturnError_when_RequiredMonoIsEmpty()
+            throws Exception {
+        String result = callAsyncEndpointMethodWithNullCheck("getEmptyMono",
+                500);
+        assertTrue(result.contains("Unexpected return value"));
+    }
+
+    @Test
+    public void should_ReturnNull_when_NullableMonoIsEmpty()
+            throws Exception {
+        String result = callAsyncEndpointMethodWithNullCheck(
+                "getNullableEmptyMono", 200);
+        assertEquals("null", result);
+    }
+
+    @Test
+    public void should_ReturnError_when_RequiredFutureCompletesWithNull()
+            throws Exception {
+        String result = callAsyncEndpointMethodWithNullCheck(
+                "getNullCompletableFuture", 500);
+        assertTrue(result.contains("Unexpected return value"));
+    }
+
+    @Test
+    public void should_ReturnError_when_RequiredFutureInBatchCompletesWithNull()
+            throws Exception {
+        String batch = String.format(
+                "[{\"endpoint\":\"%s\",\"method\":\"getNullCompletableFuture\"}]",
+                TestEndpoints.class.getSimpleName());
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/batch")
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(batch);
+
+        MockMvc mockMvc = createMockMvcWithNullCheck();
+        MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            mvcResult = mockMvc.perform(asyncDispatch(mvcResult)).andReturn();
+        }
+        String result = mvcResult.getResponse().getContentAsString();
+        assertTrue(result.startsWith("[{\"status\":500,\"error\":"));
+        assertTrue(result.contains("Unexpected return value"));
+    }
+
+    @Test
+    public void should_ReturnResultOfEachCall_when_CallingBatch()
+            throws Exception {
+        String endpointName = TestEndpoints.class.getSimpleName();
+        String batch = String.format("[{\"endpoint\":\"%1$s\","
+                + "\"method\":\"getLocalTime\"},"
+                + "{\"endpoint\":\"%1$s\",\"method\":\"getBeanWithPrivateFields\","
+                + "\"params\":{}},"
+                + "{\"endpoint\":\"%1$s\",\"method\":\"unknownMethod\"}]",
+                endpointName);
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/batch")
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(batch);
+
+        String result = mockMvcForEndpoint.perform(requestBuilder)
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+        assertEquals("[{\"status\":200,\"result\":\"08:00:00\"},"
+                + "{\"status\":200,\"result\":{\"name\":\"Bond\"}},"
+                + "{\"status\":404}]", result);
+    }
+
+    @Test
+    public void should_CompleteBatch_when_CallReturnsCompletableFuture()
+            throws Exception {
+        String batch = String.format(
+                "[{\"endpoint\":\"%s\",\"method\":\"getCompletableFuture\"}]",
+                TestEndpoints.class.getSimpleName());
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/batch")
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(batch);
+
+        MvcResult mvcResult = mockMvcForEndpoint.perform(requestBuilder)
+                .andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            mvcResult = mockMvcForEndpoint.perform(asyncDispatch(mvcResult))
+                    .andReturn();
+        }
+        assertEquals("[{\"status\":200,\"result\":{\"name\":\"Bond\"}}]",
+                mvcResult.getResponse().getContentAsString());
+    }
+
+    @Test
+    public void should_ReturnBadRequest_when_BatchHasTooManyCalls()
+            throws Exception {
+        String call = String.format(
+                "{\"endpoint\":\"%s\",\"method\":\"getLocalTime\"}",
+                TestEndpoints.class.getSimpleName());
+        // One call more than the default limit of 100
+        String batch = "[" + String.join(",", Collections.nCopies(101, call))
+                + "]";
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/batch")
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content(batch);
+
+        String result = mockMvcForEndpoint.perform(requestBuilder)
+                .andExpect(status().isBadRequest()).andReturn().getResponse()
+                .getContentAsString();
+        assertTrue(result.contains("at most"));
+    }
+
+    @Test
+    public void should_ReturnBadRequest_when_BatchIsNotAnArray()
+            throws Exception {
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/batch")
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .content("{}");
+
+        mockMvcForEndpoint.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
+    private String callAsyncEndpointMethodWithNullCheck(String methodName,
+            int expectedStatus) throws Exception {
+        String endpointName = TestEndpoints.class.getSimpleName();
+        String requestUrl = String.format("/%s/%s", endpointName, methodName);
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post(requestUrl)
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+
+        MockMvc mockMvc = createMockMvcWithNullCheck();
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().is(expectedStatus)).andReturn()
+                .getResponse().getContentAsString();
+    }
+
+    private MockMvc createMockMvcWithNullCheck() {
+        EndpointController controller = new EndpointControllerMockBuilder()
+                .withApplicationContext(applicationContext)
+                .withExplicitNullableTypeChecker(
+                        new ExplicitNullableTypeChecker())
+                .build();
+        controller.registerEndpoints(getDefaultOpenApiResourcePathInDevMode());
+        return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private String callAsyncEndpointMethod(String methodName)
+            throws Exception {
+        String endpointName = TestEndpoints.class.getSimpleName();
+        String requestUrl = String.format("/%s/%s", endpointName, methodName);
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post(requestUrl)
+                .accept(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+
+        MvcResult mvcResult = mockMvcForEndpoint.perform(requestBuilder)
+                .andExpect(request().asyncStarted()).andReturn();
+        return mockMvcForEndpoint.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString();
+    }
+
     private String callEndpointMethod(String methodName) throws Exception {
         String endpointName = TestEndpoints.class.getSimpleName();
         String requestUrl = String.format("/%s/%s", endpointName, methodName);
@@ -17,8 +17,14 @@ package com.vaadin.hilla.rest;
 
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nonnull;
+
+import reactor.core.publisher.Mono;
 
 import com.vaadin.hilla.Endpoint;
+import com.vaadin.hilla.Nullable;
 
 @Endpoint
 public class TestEndpoints {
@@ -45,6 +51,29 @@ public class TestEndpoints {
         return LocalTime.of(8, 0, 0);
     }
 
+    public CompletableFuture<BeanWithPrivateFields> getCompletableFuture() {
+        return CompletableFuture.supplyAsync(BeanWithPrivateFields::new);
+    }
+
+    public Mono<LocalTime> getMono() {
+        return Mono.fromSupplier(this::getLocalTime);
+    }
+
+    @Nonnull
+    public Mono<LocalTime> getEmptyMono() {
+        return Mono.empty();
+    }
+
+    @Nonnull
+    public Mono<@Nullable LocalTime> getNullableEmptyMono() {
+        return Mono.empty();
+    }
+
+    @Nonnull
+    public CompletableFuture<LocalTime> getNullCompletableFuture() {
+        return CompletableFuture.supplyAsync(() -> null);
+    }
+
     public static class BeanWithZonedDateTimeField {
         private ZonedDateTime zonedDateTime = ZonedDateTime.now();
 
@@ -4,7 +4,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -22,6 +25,7 @@ import com.vaadin.hilla.parser.core.PluginConfiguration;
 import com.vaadin.hilla.parser.models.ClassInfoModel;
 import com.vaadin.hilla.parser.models.ClassRefSignatureModel;
 import com.vaadin.hilla.parser.models.SignatureModel;
+import com.vaadin.hilla.parser.models.TypeArgumentModel;
 import com.vaadin.hilla.parser.plugins.backbone.BackbonePlugin;
 import com.vaadin.hilla.parser.plugins.backbone.nodes.CompositeTypeSignatureNode;
 import com.vaadin.hilla.parser.plugins.backbone.nodes.TypeSignatureNode;
@@ -32,6 +36,9 @@ import com.vaadin.hilla.runtime.transfertypes.Flux;
 public final class TransferTypesPlugin
         extends AbstractPlugin<PluginConfiguration> {
     static private final Map<String, Class<?>> classMap = new HashMap<>();
+    static private final Set<String> asyncClasses = Set.of(
+            "reactor.core.publisher.Mono", CompletableFuture.class.getName(),
+            CompletionStage.class.getName());
 
     static {
         classMap.put("org.springframework.data.domain.Page", List.class);
@@ -89,6 +96,10 @@ public final class TransferTypesPlugin
 
         var classRef = (ClassRefSignatureModel) signature;
         var className = classRef.getClassInfo().getName();
+        if (asyncClasses.contains(className)) {
+            return unwrapAsyncType(classRef);
+        }
+
         if (!classMap.containsKey(className)) {
             return signature;
         }
@@ -97,4 +108,21 @@ public final class TransferTypesPlugin
         return ClassRefSignatureModel.of(mappedClassInfo,
                 classRef.getTypeArguments(), classRef.getAnnotations());
     }
+
+    /**
+     * Replaces a single-value asynchronous type, such as {@code Mono<T>} or
+     * {@code CompletableFuture<T>}, with the type of its value, as the endpoint
+     * runtime completes the response only when the value is available.
+     */
+    private SignatureModel unwrapAsyncType(ClassRefSignatureModel classRef) {
+        var associatedTypes = classRef.getTypeArguments().stream().findFirst()
+                .map(TypeArgumentModel::getAssociatedTypes).orElse(List.of());
+        if (associatedTypes.isEmpty()) {
+            // Raw types and unbounded wildcards resolve to any value
+            return ClassRefSignatureModel.of(ClassInfoModel.of(Object.class),
+                    List.of(), classRef.getAnnotations());
+        }
+
+        return processType(associatedTypes.get(0));
+    }
 }
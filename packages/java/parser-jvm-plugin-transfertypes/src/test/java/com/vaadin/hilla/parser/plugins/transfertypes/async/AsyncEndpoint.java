@@ -0,0 +1,21 @@
+package com.vaadin.hilla.parser.plugins.transfertypes.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import reactor.core.publisher.Mono;
+
+@Endpoint
+public class AsyncEndpoint {
+    public CompletableFuture<String> getCompletableFuture() {
+        return CompletableFuture.completedFuture("value");
+    }
+
+    public CompletionStage<String> getCompletionStage() {
+        return CompletableFuture.completedFuture("value");
+    }
+
+    public Mono<String> getMono() {
+        return Mono.just("value");
+    }
+}
@@ -0,0 +1,29 @@
+package com.vaadin.hilla.parser.plugins.transfertypes.async;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.hilla.parser.core.Parser;
+import com.vaadin.hilla.parser.plugins.backbone.BackbonePlugin;
+import com.vaadin.hilla.parser.plugins.transfertypes.TransferTypesPlugin;
+import com.vaadin.hilla.parser.plugins.transfertypes.test.helpers.TestHelper;
+
+public class AsyncTest {
+    private final TestHelper helper = new TestHelper(getClass());
+
+    @Test
+    public void should_UnwrapAsyncTypesToValueType()
+            throws IOException, URISyntaxException {
+        var openAPI = new Parser().classLoader(getClass().getClassLoader())
+                .classPath(Set.of(helper.getTargetDir().toString()))
+                .endpointAnnotation(Endpoint.class.getName())
+                .endpointExposedAnnotation(EndpointExposed.class.getName())
+                .addPlugin(new BackbonePlugin())
+                .addPlugin(new TransferTypesPlugin()).execute();
+
+        helper.executeParserWithConfig(openAPI);
+    }
+}
@@ -147,6 +147,17 @@ export class FluxConnection extends EventTarget {
 
   #handleMessage(message: unknown) {
     if (isClientMessage(message)) {
+      if (message['@type'] === 'batch') {
+        message.updates.forEach((update) => this.#handleMessage(update));
+        return;
+      }
+
+      if (message['@type'] === 'ping') {
+        // Shows the server that the connection is alive
+        this.#send({ '@type': 'pong' });
+        return;
+      }
+
       const { id } = message;
       const endpointInfo = this.#endpointInfos.get(id) ?? 'unknown';
 
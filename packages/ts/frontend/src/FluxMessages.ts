@@ -15,7 +15,21 @@ export interface ClientUpdateMessage extends AbstractMessage {
   item: any;
 }
 
-export type ClientMessage = ClientCompleteMessage | ClientErrorMessage | ClientUpdateMessage;
+export interface ClientBatchMessage {
+  '@type': 'batch';
+  updates: ClientUpdateMessage[];
+}
+
+export interface ClientPingMessage {
+  '@type': 'ping';
+}
+
+export type ClientMessage =
+  | ClientBatchMessage
+  | ClientCompleteMessage
+  | ClientErrorMessage
+  | ClientPingMessage
+  | ClientUpdateMessage;
 
 export function isClientMessage(value: unknown): value is ClientMessage {
   return value != null && typeof value === 'object' && '@type' in value;
@@ -33,4 +47,8 @@ export interface ServerCloseMessage extends AbstractMessage {
   '@type': 'unsubscribe';
 }
 
-export type ServerMessage = ServerCloseMessage | ServerConnectMessage;
+export interface ServerPongMessage {
+  '@type': 'pong';
+}
+
+export type ServerMessage = ServerCloseMessage | ServerConnectMessage | ServerPongMessage;
@@ -4,15 +4,17 @@ import sinon from 'sinon';
 import { FluxConnection, State } from '../src/FluxConnection.js';
 import type {
   AbstractMessage,
+  ClientBatchMessage,
   ClientCompleteMessage,
   ClientErrorMessage,
+  ClientPingMessage,
   ClientUpdateMessage,
 } from '../src/FluxMessages.js';
 import { getSubscriptionEventSpies, subscribeStub } from './mocks/atmosphere.js';
 
 describe('@vaadin/hilla-frontend', () => {
   describe('FluxConnection', () => {
-    function emitMessage(msg: AbstractMessage) {
+    function emitMessage(msg: AbstractMessage | ClientBatchMessage | ClientPingMessage) {
       getSubscriptionEventSpies()?.onMessage?.({ responseBody: JSON.stringify(msg) });
     }
 
@@ -93,6 +95,30 @@ describe('@vaadin/hilla-frontend', () => {
       expect(receivedValues[0]).to.eql({ foo: 'bar' });
     });
 
+    it('should call onNext for each update of a batch message', () => {
+      const sub = fluxConnection.subscribe('MyEndpoint', 'myMethod');
+      const receivedValues: any[] = [];
+      sub.onNext((value: any) => {
+        receivedValues.push(value);
+      });
+      const msg: ClientBatchMessage = {
+        '@type': 'batch',
+        updates: [
+          { '@type': 'update', id: '0', item: 1 },
+          { '@type': 'update', id: '0', item: 2 },
+        ],
+      };
+      emitMessage(msg);
+      expect(receivedValues).to.eql([1, 2]);
+    });
+
+    it('should reply to a ping with a pong', () => {
+      fluxConnection.subscribe('MyEndpoint', 'myMethod');
+      const msg: ClientPingMessage = { '@type': 'ping' };
+      emitMessage(msg);
+      expect(getSubscriptionEventSpies()?.push).to.have.been.calledWith(JSON.stringify({ '@type': 'pong' }));
+    });
+
     it('should call onComplete when receiving a server message', () => {
       const sub = fluxConnection.subscribe('MyEndpoint', 'myMethod');
       const onComplete = sinon.stub();